@@ -0,0 +1,55 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.benchmarks;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.bacon.headDrops.HeadDrops;
+import org.bacon.headDrops.utils.HeadUtils.HeadMetadata;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+import com.destroystokyo.paper.profile.ProfileProperty;
+
+@State(Scope.Benchmark)
+public class BenchmarkServer {
+
+    static final String OWNER_NAME = "BenchOwner";
+    static final String KILLER_NAME = "BenchKiller";
+    static final String TEXTURES = "ewogICJ0ZXh0dXJlcyIgOiB7CiAgICAiU0tJTiIgOiB7CiAgICAgICJ1cmwiIDogImh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvYmVuY2giCiAgICB9CiAgfQp9";
+
+    public ServerMock server;
+    public HeadDrops plugin;
+    public PlayerProfile profile;
+    public HeadMetadata metadata;
+
+    @Setup(Level.Trial)
+    public void start() {
+        server = MockBukkit.mock();
+        plugin = MockBukkit.load(HeadDrops.class);
+
+        UUID ownerId = UUID.randomUUID();
+        profile = server.createProfile(ownerId, OWNER_NAME);
+        profile.setProperty(new ProfileProperty("textures", TEXTURES));
+        plugin.profileCache().put(profile);
+
+        metadata = new HeadMetadata(ownerId, OWNER_NAME, Instant.now(), KILLER_NAME, "7KQ2M9XW4T1B");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        MockBukkit.unmock();
+    }
+}
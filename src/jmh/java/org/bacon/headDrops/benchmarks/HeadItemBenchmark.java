@@ -0,0 +1,83 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.bacon.headDrops.HeadDrops;
+import org.bacon.headDrops.settings.HeadDropsSettings;
+import org.bacon.headDrops.utils.HeadUtils;
+import org.bacon.headDrops.utils.HeadUtils.HeadMetadata;
+import org.bacon.headDrops.utils.LoreTemplate;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.mockbukkit.mockbukkit.persistence.PersistentDataContainerMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HeadItemBenchmark {
+
+    private HeadDrops plugin;
+    private HeadMetadata metadata;
+    private PersistentDataContainer populated;
+    private PersistentDataContainer scratch;
+    private LoreTemplate.Values values;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkServer server) {
+        plugin = server.plugin;
+        metadata = server.metadata;
+
+        populated = new PersistentDataContainerMock();
+        HeadUtils.writeHeadData(plugin, populated, metadata);
+        scratch = new PersistentDataContainerMock();
+
+        values = new LoreTemplate.Values(
+                metadata.ownerName(),
+                plugin.settings().formatTimestamp(metadata.timestamp()),
+                metadata.killerName(),
+                metadata.serial()
+        );
+    }
+
+    @Benchmark
+    public ItemStack createHeadItem(BenchmarkServer server) {
+        return HeadUtils.createHeadItem(plugin, metadata, server.profile);
+    }
+
+    @Benchmark
+    public Optional<HeadMetadata> readHeadData() {
+        return HeadUtils.readHeadData(plugin, populated);
+    }
+
+    @Benchmark
+    public PersistentDataContainer writeHeadData() {
+        HeadUtils.writeHeadData(plugin, scratch, metadata);
+        return scratch;
+    }
+
+    @Benchmark
+    public void renderLore(Blackhole blackhole) {
+        HeadDropsSettings settings = plugin.settings();
+        blackhole.consume(settings.titleTemplate().render(values));
+        blackhole.consume(settings.timestampTemplate().render(values));
+        blackhole.consume(settings.killerTemplate().render(values));
+        blackhole.consume(settings.serialTemplate().render(values));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bacon.headDrops.HeadDrops;
+import org.bacon.headDrops.utils.HeadUtils;
+import org.bacon.headDrops.utils.HeadUtils.HeadMetadata;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+
+// Repeated drops of one owner's head, built from scratch (0) or copied from a cached prototype.
+// The gc profiler's gc.alloc.rate.norm column gives the bytes allocated per head.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HeadPrototypeBenchmark {
+
+    @Param({"0", "200"})
+    public int prototypeCacheSize;
+
+    private HeadDrops plugin;
+    private HeadMetadata metadata;
+    private PlayerProfile profile;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkServer server) {
+        plugin = server.plugin;
+        metadata = server.metadata;
+        profile = server.profile;
+        plugin.headPrototypes().configure(prototypeCacheSize, TimeUnit.HOURS.toMillis(1L));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        plugin.headPrototypes().configure(plugin.settings().prototypeCacheSize(), plugin.settings().prototypeCacheExpireMillis());
+    }
+
+    @Benchmark
+    public ItemStack createHeadItem() {
+        return HeadUtils.createHeadItem(plugin, metadata, profile);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.bacon.headDrops.serial.SerialNumberService;
+import org.bacon.headDrops.serial.SerialNumberService.RandomSerialSettings;
+import org.bacon.headDrops.serial.SerialNumberService.SerialMode;
+import org.bacon.headDrops.serial.SerialNumberService.SharedCounterSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+// Thread counts stand in for the number of Folia regions handling deaths at the same time.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerialBenchmark {
+
+    @Param({"RANDOM", "INCREMENTAL"})
+    public SerialMode mode;
+
+    private SerialNumberService service;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkServer server) {
+        service = new SerialNumberService(server.plugin);
+        service.configure(true, mode, SharedCounterSettings.DISABLED, RandomSerialSettings.DEFAULT);
+        service.load();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<String> oneRegion() {
+        return service.nextSerial();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<String> fourRegions() {
+        return service.nextSerial();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Optional<String> sixteenRegions() {
+        return service.nextSerial();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.benchmarks;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import org.bacon.headDrops.utils.TimeUtils;
+import org.bacon.headDrops.utils.TimestampRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+// Many heads stamped within the same second, as in a mass-kill event.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TimestampBenchmark {
+
+    @Param({"yyyy-MM-dd HH:mm:ss", "HH:mm:ss.SSS"})
+    public String pattern;
+
+    private DateTimeFormatter formatter;
+    private TimestampRenderer renderer;
+    private Instant instant;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        renderer = TimeUtils.buildRenderer(pattern, ZoneId.of("Europe/Berlin"), "yyyy-MM-dd HH:mm:ss", null);
+        formatter = renderer.formatter();
+        instant = Instant.now();
+    }
+
+    @Benchmark
+    public String formatter() {
+        return formatter.format(instant);
+    }
+
+    @Benchmark
+    public String renderer() {
+        return renderer.format(instant);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String rendererContended() {
+        return renderer.format(instant);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.loadsim;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bacon.headDrops.metrics.LatencyHistogram;
+
+// Handler latencies and allocation for one scenario run, shared by all of its region threads.
+final class LoadResults {
+
+    private final LatencyHistogram deaths = new LatencyHistogram();
+    private final LatencyHistogram places = new LatencyHistogram();
+    private final LatencyHistogram breaks = new LatencyHistogram();
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    LatencyHistogram deaths() {
+        return deaths;
+    }
+
+    LatencyHistogram places() {
+        return places;
+    }
+
+    LatencyHistogram breaks() {
+        return breaks;
+    }
+
+    void allocated(long bytes) {
+        allocatedBytes.add(bytes);
+    }
+
+    void print(PrintStream out, Scenario scenario, int threads, long elapsedNanos, long serialWrites,
+               long serialsIssued, long dropsGranted, long throttled) {
+        long events = deaths.snapshot().count() + places.snapshot().count() + breaks.snapshot().count();
+        double seconds = elapsedNanos / 1_000_000_000.0D;
+        long bytes = allocatedBytes.sum();
+
+        out.printf("%s - %s%n", scenario.id(), scenario.description());
+        out.printf("  %d region threads, %,d handler calls in %.2f s: %,.0f events/s%n",
+                threads, events, seconds, events / seconds);
+        out.printf("  %-7s %10s %10s %10s %10s %10s %10s%n", "handler", "calls", "mean us", "p50 us", "p99 us",
+                "p999 us", "max us");
+        row(out, "death", deaths.snapshot());
+        row(out, "place", places.snapshot());
+        row(out, "break", breaks.snapshot());
+        out.printf("  allocation: %,.1f MB/s, %,d bytes per handler call%n",
+                bytes / seconds / (1024.0D * 1024.0D), events == 0L ? 0L : bytes / events);
+        out.printf("  serials issued: %,d, atomic file writes: %,d, drops granted: %,d, throttled: %,d%n%n",
+                serialsIssued, serialWrites, dropsGranted, throttled);
+    }
+
+    private static void row(PrintStream out, String name, LatencyHistogram.Snapshot snapshot) {
+        if (snapshot.count() == 0L) {
+            return;
+        }
+        out.printf("  %-7s %,10d %10.2f %10.2f %10.2f %10.2f %10.2f%n", name, snapshot.count(),
+                snapshot.mean() / 1_000.0D,
+                snapshot.percentile(0.50D) / 1_000.0D,
+                snapshot.percentile(0.99D) / 1_000.0D,
+                snapshot.percentile(0.999D) / 1_000.0D,
+                snapshot.max() / 1_000.0D);
+    }
+}
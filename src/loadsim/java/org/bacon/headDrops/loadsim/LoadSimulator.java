@@ -0,0 +1,177 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.loadsim;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bacon.headDrops.HeadDrops;
+import org.bacon.headDrops.listeners.BlockBreakListener;
+import org.bacon.headDrops.listeners.BlockPlaceListener;
+import org.bacon.headDrops.listeners.DeathListener;
+import org.bacon.headDrops.throttle.DropThrottle;
+import org.bacon.headDrops.utils.AtomicFiles;
+import org.bukkit.Location;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+import org.mockbukkit.mockbukkit.world.WorldMock;
+
+/*
+ * Drives the real death, place and break listeners with synthetic events on N threads against an
+ * in-process MockBukkit server, one world per thread standing in for a Folia region:
+ *   ./gradlew loadSim --args="--scenario pvp-wipe --threads 8 --players 200 --events 50000"
+ */
+public final class LoadSimulator {
+
+    private LoadSimulator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Set<Scenario> scenarios = EnumSet.allOf(Scenario.class);
+        int threads = 4;
+        int players = 200;
+        long events = 50_000L;
+        long warmup = 10_000L;
+        String serialMode = "random";
+        boolean throttle = true;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--scenario" -> {
+                    String value = requireValue(args, ++i);
+                    if (!value.equals("all")) {
+                        Scenario scenario = Scenario.fromId(value)
+                                .orElseThrow(() -> new IllegalArgumentException("Unknown scenario " + value));
+                        scenarios = EnumSet.of(scenario);
+                    }
+                }
+                case "--threads" -> threads = Integer.parseInt(requireValue(args, ++i));
+                case "--players" -> players = Integer.parseInt(requireValue(args, ++i));
+                case "--events" -> events = Long.parseLong(requireValue(args, ++i));
+                case "--warmup" -> warmup = Long.parseLong(requireValue(args, ++i));
+                case "--serial-mode" -> serialMode = requireValue(args, ++i).toLowerCase(Locale.ROOT);
+                case "--no-throttle" -> throttle = false;
+                default -> {
+                    usage();
+                    return;
+                }
+            }
+        }
+        if (threads < 1 || players < threads * 2 || events < 1L) {
+            usage();
+            return;
+        }
+
+        ServerMock server = MockBukkit.mock();
+        try {
+            HeadDrops plugin = MockBukkit.load(HeadDrops.class);
+            plugin.getConfig().set("serial.mode", serialMode);
+            plugin.getConfig().set("throttle.enabled", throttle);
+            plugin.saveConfig();
+            plugin.reloadPluginSettings().join();
+
+            List<RegionLane> lanes = createLanes(server, plugin, threads, players);
+            for (Scenario scenario : scenarios) {
+                if (warmup > 0L) {
+                    runLanes(lanes, scenario, warmup, new LoadResults());
+                }
+                measure(plugin, lanes, scenario, events);
+            }
+        } finally {
+            MockBukkit.unmock();
+        }
+    }
+
+    private static void measure(HeadDrops plugin, List<RegionLane> lanes, Scenario scenario, long events)
+            throws Exception {
+        DropThrottle throttle = plugin.dropThrottle();
+        long writesBefore = AtomicFiles.writes();
+        long serialsBefore = plugin.serialsIssued();
+        long grantedBefore = plugin.metrics().dropsGranted();
+        long throttledBefore = throttle.pairThrottled() + throttle.killerThrottled();
+
+        LoadResults results = new LoadResults();
+        long elapsed = runLanes(lanes, scenario, events, results);
+
+        results.print(System.out, scenario, lanes.size(), elapsed,
+                AtomicFiles.writes() - writesBefore,
+                plugin.serialsIssued() - serialsBefore,
+                plugin.metrics().dropsGranted() - grantedBefore,
+                throttle.pairThrottled() + throttle.killerThrottled() - throttledBefore);
+    }
+
+    // Returns the wall time from releasing the threads until the last one finishes.
+    private static long runLanes(List<RegionLane> lanes, Scenario scenario, long events, LoadResults results)
+            throws Exception {
+        AtomicInteger names = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(lanes.size(),
+                task -> new Thread(task, "loadsim-region-" + names.getAndIncrement()));
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> running = new ArrayList<>(lanes.size());
+            for (RegionLane lane : lanes) {
+                running.add(executor.submit(() -> {
+                    start.await();
+                    lane.run(scenario, events, results);
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : running) {
+                future.get();
+            }
+            return System.nanoTime() - begin;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<RegionLane> createLanes(ServerMock server, HeadDrops plugin, int threads, int players) {
+        DeathListener deaths = new DeathListener(plugin);
+        BlockPlaceListener places = new BlockPlaceListener(plugin);
+        BlockBreakListener breaks = new BlockBreakListener(plugin);
+
+        List<RegionLane> lanes = new ArrayList<>(threads);
+        int perLane = players / threads;
+        for (int lane = 0; lane < threads; lane++) {
+            WorldMock world = server.addSimpleWorld("loadsim-region-" + lane);
+            Location spawn = new Location(world, 8.5D, 65.0D, 8.5D);
+            List<PlayerMock> lanePlayers = new ArrayList<>(perLane);
+            for (int i = 0; i < perLane; i++) {
+                PlayerMock player = server.addPlayer("Sim" + lane + "_" + i);
+                player.teleport(spawn);
+                lanePlayers.add(player);
+            }
+            lanes.add(new RegionLane(plugin, world, lanePlayers, deaths, places, breaks, 0x5EEDL + lane));
+        }
+        return lanes;
+    }
+
+    private static String requireValue(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static void usage() {
+        System.err.println("Usage: ./gradlew loadSim --args=\"[--scenario pvp-wipe|mining|trophy-wall|all]"
+                + " [--threads N] [--players N] [--events N] [--warmup N] [--serial-mode random|incremental]"
+                + " [--no-throttle]\"");
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.loadsim;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.bacon.headDrops.HeadDrops;
+import org.bacon.headDrops.listeners.BlockBreakListener;
+import org.bacon.headDrops.listeners.BlockPlaceListener;
+import org.bacon.headDrops.listeners.DeathListener;
+import org.bacon.headDrops.metrics.LatencyHistogram;
+import org.bacon.headDrops.utils.HeadUtils;
+import org.bacon.headDrops.utils.HeadUtils.HeadMetadata;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
+import org.bukkit.damage.DamageSource;
+import org.bukkit.damage.DamageType;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+import org.bukkit.event.Event;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+import org.mockbukkit.mockbukkit.world.WorldMock;
+
+import com.sun.management.ThreadMXBean;
+
+/*
+ * One simulated Folia region: its own world and players, driven by a single thread, so nothing the
+ * stand-in server touches is shared between lanes except what the plugin itself shares.
+ */
+final class RegionLane {
+
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final int CLEANUP_INTERVAL = 4096;
+
+    private final WorldMock world;
+    private final List<PlayerMock> players;
+    private final DeathListener deaths;
+    private final BlockPlaceListener places;
+    private final BlockBreakListener breaks;
+    private final ItemStack headItem;
+    private final SplittableRandom random;
+
+    private LoadResults results;
+    private long dispatched;
+
+    RegionLane(HeadDrops plugin, WorldMock world, List<PlayerMock> players, DeathListener deaths,
+               BlockPlaceListener places, BlockBreakListener breaks, long seed) {
+        this.world = world;
+        this.players = players;
+        this.deaths = deaths;
+        this.places = places;
+        this.breaks = breaks;
+        this.random = new SplittableRandom(seed);
+
+        PlayerMock owner = players.get(0);
+        HeadMetadata metadata = new HeadMetadata(owner.getUniqueId(), owner.getName(), Instant.now(),
+                players.get(players.size() - 1).getName(), null);
+        this.headItem = HeadUtils.createHeadItem(plugin, metadata, owner.getPlayerProfile());
+    }
+
+    void run(Scenario scenario, long events, LoadResults into) {
+        results = into;
+        for (long i = 0; i < events; i++) {
+            scenario.step(this, i);
+        }
+        clearDroppedItems();
+    }
+
+    void kill() {
+        PlayerMock killer = players.get(random.nextInt(players.size()));
+        PlayerMock victim = players.get(random.nextInt(players.size()));
+        if (victim == killer) {
+            victim = players.get((players.indexOf(killer) + 1) % players.size());
+        }
+        victim.setKiller(killer);
+        DamageSource source = DamageSource.builder(DamageType.PLAYER_ATTACK)
+                .withCausingEntity(killer)
+                .withDirectEntity(killer)
+                .build();
+        PlayerDeathEvent event = new PlayerDeathEvent(victim, source, new ArrayList<>(), 0, null, true);
+        dispatch(results.deaths(), event);
+    }
+
+    void placeHead(int x, int y, int z) {
+        Block block = world.getBlockAt(x, y, z);
+        BlockState replaced = block.getState();
+        block.setType(Material.PLAYER_HEAD);
+        BlockPlaceEvent event = new BlockPlaceEvent(block, replaced, block.getRelative(BlockFace.DOWN),
+                headItem, players.get(random.nextInt(players.size())), true, EquipmentSlot.HAND);
+        dispatch(results.places(), event);
+    }
+
+    void breakStone(int x, int y, int z) {
+        world.getBlockAt(x, y, z).setType(Material.STONE);
+        breakBlock(x, y, z);
+    }
+
+    void breakBlock(int x, int y, int z) {
+        Block block = world.getBlockAt(x, y, z);
+        BlockBreakEvent event = new BlockBreakEvent(block, players.get(random.nextInt(players.size())));
+        dispatch(results.breaks(), event);
+        block.setType(Material.AIR);
+    }
+
+    // Event construction happens before the window, so only the handler's own allocation is counted.
+    private void dispatch(LatencyHistogram latency, Event event) {
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        switch (event) {
+            case PlayerDeathEvent death -> deaths.onPlayerDeath(death);
+            case BlockPlaceEvent place -> places.onBlockPlace(place);
+            case BlockBreakEvent broken -> breaks.onBlockBreak(broken);
+            default -> throw new IllegalArgumentException(event.getEventName());
+        }
+        long elapsed = System.nanoTime() - start;
+        results.allocated(THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore);
+        latency.record(elapsed);
+
+        if (++dispatched % CLEANUP_INTERVAL == 0L) {
+            clearDroppedItems();
+        }
+    }
+
+    private void clearDroppedItems() {
+        world.getEntitiesByClass(Item.class).forEach(Entity::remove);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.loadsim;
+
+import java.util.Locale;
+import java.util.Optional;
+
+// What each simulated region thread does for its i-th event.
+enum Scenario {
+
+    PVP_WIPE("pvp-wipe", "players in each region killing each other as fast as the events arrive") {
+        @Override
+        void step(RegionLane lane, long i) {
+            lane.kill();
+        }
+    },
+    MINING("mining", "stone broken block after block, with a placed head mined every 64th block") {
+        @Override
+        void step(RegionLane lane, long i) {
+            int x = (int) (i & 63);
+            int z = (int) ((i >>> 6) & 63);
+            if (x == 0) {
+                lane.placeHead(x, 40, z);
+                lane.breakBlock(x, 40, z);
+            } else {
+                lane.breakStone(x, 40, z);
+            }
+        }
+    },
+    TROPHY_WALL("trophy-wall", "a 16x8 wall of heads placed, then torn down, over and over") {
+        @Override
+        void step(RegionLane lane, long i) {
+            int slot = (int) (i % (WALL_SLOTS * 2));
+            int column = slot % WALL_SLOTS;
+            int x = column & 15;
+            int y = 64 + (column >>> 4);
+            if (slot < WALL_SLOTS) {
+                lane.placeHead(x, y, 0);
+            } else {
+                lane.breakBlock(x, y, 0);
+            }
+        }
+    };
+
+    private static final int WALL_SLOTS = 128;
+
+    private final String id;
+    private final String description;
+
+    Scenario(String id, String description) {
+        this.id = id;
+        this.description = description;
+    }
+
+    abstract void step(RegionLane lane, long i);
+
+    String id() {
+        return id;
+    }
+
+    String description() {
+        return description;
+    }
+
+    static Optional<Scenario> fromId(String value) {
+        String wanted = value.trim().toLowerCase(Locale.ROOT);
+        for (Scenario scenario : values()) {
+            if (scenario.id.equals(wanted)) {
+                return Optional.of(scenario);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -7,136 +7,255 @@
 
 package org.bacon.headDrops;
 
-import java.time.Instant;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
-import java.util.Objects;
+import java.io.IOException;
+import java.sql.SQLException;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
+import org.bacon.headDrops.api.HeadRegistry;
+import org.bacon.headDrops.api.PlacedHeads;
+import org.bacon.headDrops.audit.InventoryAuditor;
+import org.bacon.headDrops.commands.HeadDropsCommand;
+import org.bacon.headDrops.delivery.HeadDelivery;
+import org.bacon.headDrops.delivery.HeadMailbox;
+import org.bacon.headDrops.index.PlacedHeadIndex;
+import org.bacon.headDrops.leaderboard.Leaderboards;
+import org.bacon.headDrops.ledger.HeadEvent;
+import org.bacon.headDrops.ledger.HeadLedger;
+import org.bacon.headDrops.listeners.AuditListener;
 import org.bacon.headDrops.listeners.BlockBreakListener;
+import org.bacon.headDrops.listeners.BlockDestructionListener;
 import org.bacon.headDrops.listeners.BlockPlaceListener;
+import org.bacon.headDrops.listeners.ChunkListener;
 import org.bacon.headDrops.listeners.DeathListener;
+import org.bacon.headDrops.listeners.DeliveryListener;
+import org.bacon.headDrops.listeners.LoreRefreshListener;
+import org.bacon.headDrops.listeners.ProfileListener;
+import org.bacon.headDrops.metrics.HeadDropsMetrics;
+import org.bacon.headDrops.metrics.PrometheusExporter;
+import org.bacon.headDrops.profile.ProfileCache;
+import org.bacon.headDrops.registry.InMemoryHeadRegistry;
 import org.bacon.headDrops.serial.SerialNumberService;
-import org.bacon.headDrops.serial.SerialNumberService.SerialMode;
-import org.bacon.headDrops.utils.TimeUtils;
+import org.bacon.headDrops.settings.HeadDropsSettings;
+import org.bacon.headDrops.throttle.DropThrottle;
+import org.bacon.headDrops.utils.HeadPrototypeCache;
 import org.bukkit.NamespacedKey;
-import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+
 public final class HeadDrops extends JavaPlugin {
 
-    private static final String DEFAULT_TITLE_TEMPLATE = "&6%player%'s Head";
-    private static final String DEFAULT_TIMESTAMP_TEMPLATE = "&7Killed on: &f%timestamp%";
-    private static final String DEFAULT_KILLER_TEMPLATE = "&7Killer: &f%killer%";
-    private static final String DEFAULT_KILLER_UNKNOWN = "Unknown";
-    private static final String DEFAULT_TIMESTAMP_PATTERN = "yyyy-MM-dd HH:mm:ss";
-    private static final String DEFAULT_SERIAL_TEMPLATE = "&7Serial: &f%serial%";
-    private static final String DEFAULT_SERIAL_UNKNOWN = "N/A";
+    private static final long SERIAL_SAVE_MINUTES = 5L;
+    private static final String PLACED_HEADS_FILE = "placed-heads.dat";
+    private static final String LEADERBOARD_FILE = "leaderboards.dat";
+    private static final String MAILBOX_FILE = "mailbox.dat";
 
+    private NamespacedKey headDataKey;
     private NamespacedKey markerKey;
     private NamespacedKey ownerIdKey;
     private NamespacedKey ownerNameKey;
     private NamespacedKey timestampKey;
     private NamespacedKey killerKey;
     private NamespacedKey serialKey;
+    private NamespacedKey placedHeadsKey;
+    private NamespacedKey renderVersionKey;
 
-    private boolean requirePlayerKill;
-    private double dropChance;
-    private ZoneId timestampZone;
-    private DateTimeFormatter timestampFormatter;
-    private String titleTemplate;
-    private String timestampTemplate;
-    private String killerTemplate;
-    private String killerUnknown;
-    private String serialTemplate;
-    private String serialUnknown;
-    private boolean serialEnabled;
-    private boolean serialVisible;
-    private SerialMode serialMode;
+    private volatile HeadDropsSettings settings;
     private SerialNumberService serialService;
+    private PlacedHeadIndex placedHeadIndex;
+    private ProfileCache profileCache;
+    private HeadPrototypeCache headPrototypes;
+    private HeadLedger ledger;
+    private InventoryAuditor auditor;
+    private InMemoryHeadRegistry registry;
+    private HeadMailbox mailbox;
+    private HeadDelivery delivery;
+    private final HeadDropsMetrics metrics = new HeadDropsMetrics();
+    private final DropThrottle dropThrottle = new DropThrottle(System::nanoTime);
+    private final Leaderboards leaderboards = new Leaderboards();
+    private PrometheusExporter metricsExporter;
+    private ScheduledTask metricsExportTask;
 
     @Override
     public void onEnable() {
         saveDefaultConfig();
         initialiseKeys();
+        HeadDropsSettings loaded = HeadDropsSettings.load(getConfig(), getDataFolder(), getLogger());
+
+        placedHeadIndex = new PlacedHeadIndex(this, placedHeadsKey);
+        placedHeadIndex.readSnapshot(getDataFolder().toPath().resolve(PLACED_HEADS_FILE), getLogger());
+        leaderboards.readSnapshot(getDataFolder().toPath().resolve(LEADERBOARD_FILE), getLogger());
+        profileCache = new ProfileCache(
+                this::completeProfile,
+                task -> getServer().getAsyncScheduler().runNow(this, scheduled -> task.run()),
+                System::nanoTime,
+                loaded.profileCacheSize(),
+                loaded.profileCacheExpireMillis()
+        );
+        headPrototypes = new HeadPrototypeCache(System::nanoTime, loaded.prototypeCacheSize(), loaded.prototypeCacheExpireMillis());
         serialService = new SerialNumberService(this);
+        auditor = new InventoryAuditor(this);
+        metricsExporter = new PrometheusExporter(this);
+        ledger = new HeadLedger(
+                getDataFolder().toPath().resolve("ledger.db"),
+                getLogger(),
+                loaded.ledgerQueueCapacity(),
+                loaded.ledgerBatchSize()
+        );
+        publishSettings(loaded);
         serialService.load();
-        applySettings(getConfig());
+        getServer().getAsyncScheduler().runAtFixedRate(this, task -> dropThrottle.expire(), 1L, 1L, TimeUnit.SECONDS);
+        getServer().getAsyncScheduler().runAtFixedRate(this, task -> {
+            serialService.save();
+            placedHeadIndex.writeSnapshot(getDataFolder().toPath().resolve(PLACED_HEADS_FILE), getLogger());
+            leaderboards.writeSnapshot(getDataFolder().toPath().resolve(LEADERBOARD_FILE), getLogger());
+        }, SERIAL_SAVE_MINUTES, SERIAL_SAVE_MINUTES, TimeUnit.MINUTES);
+        mailbox = new HeadMailbox(getDataFolder().toPath().resolve(MAILBOX_FILE), getLogger());
+        try {
+            mailbox.open();
+        } catch (IOException ex) {
+            getLogger().severe("Failed to open the head mailbox; heads will drop where players die until it can be opened: "
+                    + ex.getMessage());
+        }
+        delivery = new HeadDelivery(this, mailbox);
+        registry = new InMemoryHeadRegistry(ledger);
+        getServer().getServicesManager().register(HeadRegistry.class, registry, this, ServicePriority.Normal);
+        getServer().getServicesManager().register(PlacedHeads.class, placedHeadIndex, this, ServicePriority.Normal);
+        getServer().getAsyncScheduler().runNow(this, task -> rebuildRegistry());
 
         var pluginManager = getServer().getPluginManager();
         pluginManager.registerEvents(new DeathListener(this), this);
         pluginManager.registerEvents(new BlockPlaceListener(this), this);
         pluginManager.registerEvents(new BlockBreakListener(this), this);
+        pluginManager.registerEvents(new BlockDestructionListener(this), this);
+        pluginManager.registerEvents(new ChunkListener(this), this);
+        pluginManager.registerEvents(new ProfileListener(this), this);
+        pluginManager.registerEvents(new AuditListener(this), this);
+        pluginManager.registerEvents(new LoreRefreshListener(this), this);
+        pluginManager.registerEvents(new DeliveryListener(this), this);
+
+        var command = getCommand("headdrops");
+        if (command != null) {
+            HeadDropsCommand executor = new HeadDropsCommand(this);
+            command.setExecutor(executor);
+            command.setTabCompleter(executor);
+        }
     }
 
     @Override
     public void onDisable() {
+        getServer().getServicesManager().unregisterAll(this);
+        if (metricsExportTask != null) {
+            metricsExportTask.cancel();
+        }
+        if (ledger != null) {
+            ledger.stop();
+        }
         if (serialService != null) {
-            serialService.save();
+            serialService.close();
         }
+        if (mailbox != null) {
+            mailbox.close();
+        }
+        if (placedHeadIndex != null) {
+            placedHeadIndex.writeSnapshot(getDataFolder().toPath().resolve(PLACED_HEADS_FILE), getLogger());
+        }
+        leaderboards.writeSnapshot(getDataFolder().toPath().resolve(LEADERBOARD_FILE), getLogger());
     }
 
-    public void reloadPluginSettings() {
-        reloadConfig();
-        if (serialService != null) {
-            serialService.load();
+    public CompletableFuture<HeadDropsSettings> reloadPluginSettings() {
+        CompletableFuture<HeadDropsSettings> result = new CompletableFuture<>();
+        getServer().getAsyncScheduler().runNow(this, task -> {
+            try {
+                reloadConfig();
+                HeadDropsSettings loaded = HeadDropsSettings.load(getConfig(), getDataFolder(), getLogger());
+                publishSettings(loaded);
+                result.complete(loaded);
+            } catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        return result;
+    }
+
+    private void publishSettings(HeadDropsSettings loaded) {
+        settings = loaded;
+        serialService.configure(loaded.serialEnabled(), loaded.serialMode(), loaded.sharedCounter(), loaded.randomSerial());
+        profileCache.configure(loaded.profileCacheSize(), loaded.profileCacheExpireMillis());
+        headPrototypes.configure(loaded.prototypeCacheSize(), loaded.prototypeCacheExpireMillis());
+        dropThrottle.configure(loaded.pairThrottle(), loaded.killerThrottle());
+        // The queue capacity and batch size are fixed when the ledger is created; only on/off follows a reload.
+        if (loaded.ledgerEnabled()) {
+            startLedger();
+        } else {
+            ledger.stop();
+        }
+        scheduleMetricsExport(loaded);
+    }
+
+    private synchronized void scheduleMetricsExport(HeadDropsSettings loaded) {
+        if (metricsExportTask != null) {
+            metricsExportTask.cancel();
+            metricsExportTask = null;
+        }
+        if (!loaded.prometheusEnabled()) {
+            return;
+        }
+        long interval = loaded.prometheusIntervalSeconds();
+        metricsExportTask = getServer().getAsyncScheduler().runAtFixedRate(this, task -> {
+            try {
+                metricsExporter.writeTo(loaded.prometheusFile());
+            } catch (IOException ex) {
+                getLogger().warning("Failed to write metrics to '" + loaded.prometheusFile() + "': " + ex.getMessage());
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+
+    private void startLedger() {
+        try {
+            ledger.start();
+        } catch (SQLException ex) {
+            getLogger().severe("Failed to open head ledger '" + ledger.databaseFile() + "': " + ex.getMessage());
+        }
+    }
+
+    private void rebuildRegistry() {
+        try {
+            ledger.replay(registry::apply);
+            getLogger().info("Head registry rebuilt with " + registry.size() + " serialised heads.");
+        } catch (SQLException ex) {
+            getLogger().warning("Failed to rebuild the head registry from '" + ledger.databaseFile() + "': " + ex.getMessage());
+        } finally {
+            registry.markReady();
         }
-        applySettings(getConfig());
     }
 
     private void initialiseKeys() {
+        headDataKey = new NamespacedKey(this, "head_data");
         markerKey = new NamespacedKey(this, "head_marker");
         ownerIdKey = new NamespacedKey(this, "head_owner_id");
         ownerNameKey = new NamespacedKey(this, "head_owner_name");
         timestampKey = new NamespacedKey(this, "head_timestamp");
         killerKey = new NamespacedKey(this, "head_killer");
         serialKey = new NamespacedKey(this, "head_serial");
+        placedHeadsKey = new NamespacedKey(this, "placed_heads");
+        renderVersionKey = new NamespacedKey(this, "render_version");
     }
 
-    private void applySettings(FileConfiguration config) {
-        requirePlayerKill = config.getBoolean("drop.require-player-kill", true);
-        dropChance = clampPercentage(config.getDouble("drop.drop-chance", 100.0));
-
-        var logger = getLogger();
-        String requestedZone = config.getString("lore.timezone");
-        timestampZone = TimeUtils.resolveZoneId(requestedZone, logger);
-        timestampFormatter = TimeUtils.buildFormatter(
-                config.getString("lore.timestamp-format"),
-                timestampZone,
-                DEFAULT_TIMESTAMP_PATTERN,
-                logger
-        );
-
-        titleTemplate = nonNullOrDefault(config.getString("lore.title"), DEFAULT_TITLE_TEMPLATE);
-        timestampTemplate = nonNullOrDefault(config.getString("lore.timestamp-line"), DEFAULT_TIMESTAMP_TEMPLATE);
-        killerTemplate = nonNullOrDefault(config.getString("lore.killer-line"), DEFAULT_KILLER_TEMPLATE);
-        killerUnknown = nonNullOrDefault(config.getString("lore.killer-unknown"), DEFAULT_KILLER_UNKNOWN);
-
-        serialUnknown = nonNullOrDefault(config.getString("lore.serial-unknown"), DEFAULT_SERIAL_UNKNOWN);
-        serialVisible = config.getBoolean("serial.visible", true);
-        serialTemplate = serialVisible
-                ? nonNullOrDefault(config.getString("lore.serial-line"), DEFAULT_SERIAL_TEMPLATE)
-                : "";
-
-        serialEnabled = config.getBoolean("serial.enabled", true);
-        String modeName = config.getString("serial.mode", "random");
-        serialMode = SerialMode.fromConfig(modeName).orElse(SerialMode.RANDOM);
-
-        if (serialService != null) {
-            serialService.configure(serialEnabled, serialMode);
-        }
-    }
-
-    private String nonNullOrDefault(String value, String fallback) {
-        return Objects.requireNonNullElse(value, fallback);
+    private PlayerProfile completeProfile(UUID ownerId, String ownerName) {
+        PlayerProfile profile = getServer().createProfile(ownerId, ownerName);
+        return profile.complete(true) ? profile : null;
     }
 
-    private double clampPercentage(double value) {
-        if (Double.isNaN(value)) {
-            return 100.0;
-        }
-        return Math.max(0.0, Math.min(100.0, value));
+    public NamespacedKey headDataKey() {
+        return headDataKey;
     }
 
     public NamespacedKey markerKey() {
@@ -163,44 +282,69 @@ public final class HeadDrops extends JavaPlugin {
         return serialKey;
     }
 
-    public boolean requirePlayerKill() {
-        return requirePlayerKill;
+    public NamespacedKey renderVersionKey() {
+        return renderVersionKey;
+    }
+
+    public HeadDropsSettings settings() {
+        return settings;
+    }
+
+    public PlacedHeadIndex placedHeads() {
+        return placedHeadIndex;
+    }
+
+    public ProfileCache profileCache() {
+        return profileCache;
+    }
+
+    public HeadPrototypeCache headPrototypes() {
+        return headPrototypes;
+    }
+
+    public HeadDelivery delivery() {
+        return delivery;
     }
 
-    public double dropChance() {
-        return dropChance;
+    public HeadLedger ledger() {
+        return ledger;
     }
 
-    public String titleTemplate() {
-        return titleTemplate;
+    public HeadRegistry registry() {
+        return registry;
     }
 
-    public String timestampTemplate() {
-        return timestampTemplate;
+    public void recordHeadEvent(HeadEvent event) {
+        ledger.record(event);
+        registry.apply(event);
     }
 
-    public String killerTemplate() {
-        return killerTemplate;
+    public InventoryAuditor auditor() {
+        return auditor;
     }
 
-    public String killerUnknown() {
-        return killerUnknown;
+    public Leaderboards leaderboards() {
+        return leaderboards;
     }
 
-    public String serialTemplate() {
-        return serialTemplate;
+    public DropThrottle dropThrottle() {
+        return dropThrottle;
     }
 
-    public String serialUnknown() {
-        return serialUnknown;
+    public HeadDropsMetrics metrics() {
+        return metrics;
     }
 
-    public boolean serialEnabled() {
-        return serialEnabled;
+    public PrometheusExporter metricsExporter() {
+        return metricsExporter;
     }
 
-    public boolean serialVisible() {
-        return serialVisible;
+    public long serialsIssued() {
+        return serialService == null ? 0L : serialService.serialsIssued();
+    }
+
+    public long randomSerialCollisions() {
+        return serialService == null ? 0L : serialService.randomCollisions();
     }
 
     public Optional<String> nextSerial() {
@@ -210,16 +354,8 @@ public final class HeadDrops extends JavaPlugin {
         return serialService.nextSerial();
     }
 
-    public String formatTimestamp(Instant instant) {
-        return timestampFormatter.format(instant);
-    }
-
-    public ZoneId timestampZone() {
-        return timestampZone;
-    }
-
-    public DateTimeFormatter timestampFormatter() {
-        return timestampFormatter;
+    public boolean wasSerialIssued(String serial) {
+        return serialService != null && serialService.wasIssued(serial);
     }
 
     public Logger pluginLogger() {
@@ -0,0 +1,41 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.api;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/*
+ * What is known about one serialised head: who it belongs to and who took it, plus the last thing that
+ * happened to it. For a PLACE the location is where it stands; for DROP and BREAK it is where the item
+ * appeared, after which it may have moved anywhere as an item.
+ */
+public record HeadRecord(
+        String serial,
+        UUID ownerUuid,
+        String ownerName,
+        String killerName,
+        Instant timestamp,
+        State state,
+        String world,
+        int x,
+        int y,
+        int z,
+        long lastSeenMillis
+) {
+
+    public enum State {
+        DROPPED,
+        PLACED,
+        BROKEN
+    }
+
+    public boolean placed() {
+        return state == State.PLACED;
+    }
+}
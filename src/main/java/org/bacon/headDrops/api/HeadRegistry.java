@@ -0,0 +1,47 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.api;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+ * Read-only view of every serialised head HeadDrops knows about, available to other plugins through
+ * Bukkit's ServicesManager:
+ *
+ *   HeadRegistry registry = Bukkit.getServicesManager().load(HeadRegistry.class);
+ *
+ * All methods are safe to call from any thread and never touch the disk. Heads dropped without a serial
+ * cannot be told apart and are not tracked.
+ *
+ * The registry lives in memory and is rebuilt at startup from the head ledger alone. Heads seen while
+ * ledger.enabled is false, or whose events the ledger dropped under load, are known until the next
+ * restart and then missing or out of date; check persistent() and droppedEvents() before relying on it.
+ */
+public interface HeadRegistry {
+
+    Optional<HeadRecord> bySerial(String serial);
+
+    List<HeadRecord> byOwner(UUID ownerUuid);
+
+    // Killer names are matched case-insensitively.
+    List<HeadRecord> byKiller(String killerName);
+
+    int size();
+
+    // False while the registry is still being rebuilt from the ledger after startup.
+    boolean ready();
+
+    // False while the ledger is disabled or could not be opened, so nothing seen now survives a restart.
+    boolean persistent();
+
+    // Head events the ledger dropped under load since startup; the heads they touched will be stale after
+    // the next restart.
+    long droppedEvents();
+}
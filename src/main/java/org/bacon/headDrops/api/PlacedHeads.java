@@ -0,0 +1,21 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.api;
+
+import java.util.List;
+
+import org.bukkit.Location;
+
+/*
+ * Where placed HeadDrops heads stand, available through Bukkit's ServicesManager. Queries are answered
+ * from memory, never load chunks and are safe from any thread; the returned locations are block positions.
+ */
+public interface PlacedHeads {
+
+    List<Location> near(Location center, int radius);
+}
@@ -0,0 +1,26 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.audit;
+
+public enum AuditFinding {
+    MALFORMED("head with missing or unreadable data"),
+    CONFLICTING("head whose stored serials disagree"),
+    STACKED("stack of serialised heads"),
+    DUPLICATE_SERIAL("serial seen twice in one pass"),
+    UNKNOWN_SERIAL("serial never issued by this server");
+
+    private final String description;
+
+    AuditFinding(String description) {
+        this.description = description;
+    }
+
+    public String description() {
+        return description;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.audit;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/*
+ * Keeps audit warnings readable when the same heads are found on every join and container open: each
+ * finding is logged once until the remembered set fills up, and at most MAX_PER_WINDOW warnings are
+ * written per minute. Findings over the cap are counted and summarised when the next window starts.
+ */
+final class AuditLog {
+
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int MAX_PER_WINDOW = 20;
+    private static final int MAX_REMEMBERED = 8192;
+
+    private final Logger logger;
+    private final Set<String> logged = new HashSet<>();
+
+    private long windowStart = System.nanoTime();
+    private int written;
+    private int suppressed;
+
+    AuditLog(Logger logger) {
+        this.logger = logger;
+    }
+
+    synchronized void warn(String key, String message) {
+        long now = System.nanoTime();
+        if (now - windowStart >= WINDOW_NANOS) {
+            if (suppressed > 0) {
+                logger.warning("Head audit: " + suppressed + " more findings were not logged in the last minute;"
+                        + " /headdrops stats counts them all.");
+            }
+            windowStart = now;
+            written = 0;
+            suppressed = 0;
+        }
+
+        if (logged.size() >= MAX_REMEMBERED) {
+            logged.clear();
+        }
+        if (!logged.add(key)) {
+            return;
+        }
+        if (written >= MAX_PER_WINDOW) {
+            suppressed++;
+            return;
+        }
+        written++;
+        logger.warning(message);
+    }
+}
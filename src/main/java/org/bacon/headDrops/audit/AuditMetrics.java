@@ -0,0 +1,70 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.audit;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class AuditMetrics {
+
+    private final LongAdder passesStarted = new LongAdder();
+    private final LongAdder passesCompleted = new LongAdder();
+    private final LongAdder slices = new LongAdder();
+    private final LongAdder slotsScanned = new LongAdder();
+    private final LongAdder nanosSpent = new LongAdder();
+    private final Map<AuditFinding, LongAdder> findings = new EnumMap<>(AuditFinding.class);
+
+    AuditMetrics() {
+        for (AuditFinding finding : AuditFinding.values()) {
+            findings.put(finding, new LongAdder());
+        }
+    }
+
+    void passStarted() {
+        passesStarted.increment();
+    }
+
+    void passCompleted() {
+        passesCompleted.increment();
+    }
+
+    void slice(int slots, long nanos) {
+        slices.increment();
+        slotsScanned.add(slots);
+        nanosSpent.add(nanos);
+    }
+
+    void finding(AuditFinding finding) {
+        findings.get(finding).increment();
+    }
+
+    public long passesStarted() {
+        return passesStarted.sum();
+    }
+
+    public long passesCompleted() {
+        return passesCompleted.sum();
+    }
+
+    public long slices() {
+        return slices.sum();
+    }
+
+    public long slotsScanned() {
+        return slotsScanned.sum();
+    }
+
+    public long nanosSpent() {
+        return nanosSpent.sum();
+    }
+
+    public long findings(AuditFinding finding) {
+        return findings.get(finding).sum();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.audit;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.inventory.Inventory;
+
+/*
+ * One walk over a fixed list of inventories, resumed slot by slot across ticks. Only ever touched from
+ * the scheduler that owns the inventories, so it needs no locking.
+ */
+final class AuditPass {
+
+    record Target(Inventory inventory, String label) {
+    }
+
+    private final List<Target> targets;
+    private final Entity owner;
+    private final Location region;
+    private final Set<String> seenSerials = new HashSet<>();
+    private int target;
+    private int slot;
+
+    AuditPass(List<Target> targets, Entity owner, Location region) {
+        this.targets = targets;
+        this.owner = owner;
+        this.region = region;
+    }
+
+    Entity owner() {
+        return owner;
+    }
+
+    Location region() {
+        return region;
+    }
+
+    List<Target> targets() {
+        return targets;
+    }
+
+    boolean hasNext() {
+        while (target < targets.size()) {
+            if (slot < targets.get(target).inventory().getSize()) {
+                return true;
+            }
+            target++;
+            slot = 0;
+        }
+        return false;
+    }
+
+    Target currentTarget() {
+        return targets.get(target);
+    }
+
+    int nextSlot() {
+        return slot++;
+    }
+
+    // False if the serial was already seen earlier in this pass.
+    boolean markSeen(String serial) {
+        return seenSerials.add(serial);
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.audit;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bacon.headDrops.HeadDrops;
+import org.bacon.headDrops.settings.HeadDropsSettings;
+import org.bacon.headDrops.utils.HeadUtils;
+import org.bacon.headDrops.utils.HeadUtils.HeadMetadata;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+/*
+ * Walks inventories looking for heads that could only exist through duping or editing. Passes run on the
+ * scheduler that owns the inventory (the player's entity scheduler, or the region of a container block)
+ * and give the thread back once the per-tick budget is used, picking up at the next slot a tick later.
+ * The budget is tracked per scheduler thread, so several passes sharing a region tick share one budget.
+ */
+public final class InventoryAuditor {
+
+    private static final long TICK_NANOS = 50_000_000L;
+
+    private static final ThreadLocal<long[]> TICK_BUDGET = ThreadLocal.withInitial(() -> new long[2]);
+
+    // Random serials issued before the short format were dashless UUIDs, and nothing recorded them as issued.
+    private static final int LEGACY_RANDOM_LENGTH = 32;
+
+    private final HeadDrops plugin;
+    private final AuditMetrics metrics = new AuditMetrics();
+    private final AuditLog log;
+    private final Set<Inventory> active = ConcurrentHashMap.newKeySet();
+
+    public InventoryAuditor(HeadDrops plugin) {
+        this.plugin = plugin;
+        this.log = new AuditLog(plugin.getLogger());
+    }
+
+    public AuditMetrics metrics() {
+        return metrics;
+    }
+
+    public void auditPlayer(Player player) {
+        start(new AuditPass(List.of(
+                new AuditPass.Target(player.getInventory(), player.getName() + " inventory"),
+                new AuditPass.Target(player.getEnderChest(), player.getName() + " ender chest")
+        ), player, null));
+    }
+
+    public void auditContainer(Player viewer, Inventory inventory) {
+        InventoryHolder holder = inventory.getHolder(false);
+        Location location = inventory.getLocation();
+        if (holder instanceof Entity entity) {
+            start(new AuditPass(List.of(new AuditPass.Target(inventory, describe(entity.getLocation(), entity.getType().name()))),
+                    entity, null));
+        } else if (location != null) {
+            start(new AuditPass(List.of(new AuditPass.Target(inventory, describe(location, inventory.getType().name()))),
+                    null, location));
+        } else {
+            start(new AuditPass(List.of(new AuditPass.Target(inventory, viewer.getName() + " " + inventory.getType().name())),
+                    viewer, null));
+        }
+    }
+
+    private void start(AuditPass pass) {
+        for (AuditPass.Target target : pass.targets()) {
+            if (!active.add(target.inventory())) {
+                release(pass, target);
+                return;
+            }
+        }
+        metrics.passStarted();
+        schedule(pass);
+    }
+
+    private void schedule(AuditPass pass) {
+        if (pass.owner() != null) {
+            boolean scheduled = pass.owner().getScheduler().execute(plugin, () -> step(pass), () -> release(pass, null), 1L);
+            if (!scheduled) {
+                release(pass, null);
+            }
+        } else {
+            plugin.getServer().getRegionScheduler().runDelayed(plugin, pass.region(), task -> step(pass), 1L);
+        }
+    }
+
+    private void step(AuditPass pass) {
+        HeadDropsSettings settings = plugin.settings();
+        long start = System.nanoTime();
+        long deadline = start + remainingBudget(start, settings.auditBudgetNanos());
+        int scanned = 0;
+        boolean more = pass.hasNext();
+        while (more && System.nanoTime() < deadline) {
+            AuditPass.Target target = pass.currentTarget();
+            int slot = pass.nextSlot();
+            check(pass, settings, target, slot, target.inventory().getItem(slot));
+            scanned++;
+            more = pass.hasNext();
+        }
+
+        long spent = System.nanoTime() - start;
+        TICK_BUDGET.get()[1] += spent;
+        metrics.slice(scanned, spent);
+        if (more) {
+            schedule(pass);
+        } else {
+            metrics.passCompleted();
+            release(pass, null);
+        }
+    }
+
+    private static long remainingBudget(long now, long budget) {
+        long[] window = TICK_BUDGET.get();
+        if (now - window[0] >= TICK_NANOS) {
+            window[0] = now;
+            window[1] = 0L;
+        }
+        return Math.max(0L, budget - window[1]);
+    }
+
+    private void check(AuditPass pass, HeadDropsSettings settings, AuditPass.Target target, int slot, ItemStack item) {
+        if (item == null || item.getType() != Material.PLAYER_HEAD) {
+            return;
+        }
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) {
+            return;
+        }
+        PersistentDataContainer container = meta.getPersistentDataContainer();
+        if (!HeadUtils.isPluginHead(plugin, container)) {
+            return;
+        }
+
+        Optional<HeadMetadata> metadata = HeadUtils.readHeadData(plugin, container);
+        if (metadata.isEmpty()) {
+            report(target, slot, AuditFinding.MALFORMED, null);
+            return;
+        }
+
+        String serial = metadata.get().serial();
+        String legacySerial = container.get(plugin.serialKey(), PersistentDataType.STRING);
+        if (legacySerial != null && !legacySerial.equals(serial)) {
+            report(target, slot, AuditFinding.CONFLICTING, serial + "/" + legacySerial);
+        }
+        if (serial == null || serial.isBlank()) {
+            return;
+        }
+
+        if (item.getAmount() > 1) {
+            report(target, slot, AuditFinding.STACKED, serial + " x" + item.getAmount());
+        }
+        if (!pass.markSeen(serial)) {
+            report(target, slot, AuditFinding.DUPLICATE_SERIAL, serial);
+        }
+        if (settings.auditUnknownSerials() && !isLegacyRandom(serial) && !plugin.wasSerialIssued(serial)) {
+            report(target, slot, AuditFinding.UNKNOWN_SERIAL, serial);
+        }
+    }
+
+    private void report(AuditPass.Target target, int slot, AuditFinding finding, String serial) {
+        metrics.finding(finding);
+        String where = target.label() + " slot " + slot;
+        log.warn(finding.name() + ' ' + (serial == null ? where : serial), "Head audit: " + finding.description()
+                + " in " + where + (serial == null ? "" : " (serial " + serial + ")"));
+    }
+
+    private static boolean isLegacyRandom(String serial) {
+        if (serial.length() != LEGACY_RANDOM_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < serial.length(); i++) {
+            if (Character.digit(serial.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void release(AuditPass pass, AuditPass.Target upTo) {
+        for (AuditPass.Target target : pass.targets()) {
+            if (target == upTo) {
+                return;
+            }
+            active.remove(target.inventory());
+        }
+    }
+
+    private static String describe(Location location, String what) {
+        return what + " at " + location.getWorld().getName() + " " + location.getBlockX() + ","
+                + location.getBlockY() + "," + location.getBlockZ();
+    }
+}
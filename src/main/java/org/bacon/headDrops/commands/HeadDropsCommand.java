@@ -0,0 +1,345 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.commands;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bacon.headDrops.HeadDrops;
+import org.bacon.headDrops.audit.AuditMetrics;
+import org.bacon.headDrops.delivery.HeadDelivery;
+import org.bacon.headDrops.leaderboard.Leaderboard;
+import org.bacon.headDrops.ledger.HeadLedger;
+import org.bacon.headDrops.metrics.HeadDropsMetrics;
+import org.bacon.headDrops.metrics.LatencyHistogram;
+import org.bacon.headDrops.profile.ProfileCache;
+import org.bacon.headDrops.scan.DupeReport;
+import org.bacon.headDrops.scan.DupeScanner;
+import org.bacon.headDrops.utils.HeadPrototypeCache;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabExecutor;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+
+public final class HeadDropsCommand implements TabExecutor {
+
+    private static final List<String> SUBCOMMANDS = List.of("near", "reload", "scan", "stats");
+    private static final List<String> BOARDS = List.of("killers", "wanted");
+    private static final String ADMIN_PERMISSION = "headdrops.admin";
+    private static final String TOP_PERMISSION = "headdrops.top";
+    private static final String CLAIM_PERMISSION = "headdrops.claim";
+    private static final int DEFAULT_TOP_LISTED = 10;
+    private static final int MAX_TOP_LISTED = 50;
+    private static final int MAX_NEAR_RADIUS = 512;
+    private static final int MAX_NEAR_LISTED = 10;
+    private static final DateTimeFormatter REPORT_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss", Locale.ROOT);
+    private static final int PROGRESS_STEPS = 10;
+
+    private final HeadDrops plugin;
+    private final AtomicBoolean scanning = new AtomicBoolean();
+
+    public HeadDropsCommand(HeadDrops plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (args.length == 0) {
+            return false;
+        }
+
+        String subcommand = args[0].toLowerCase(Locale.ROOT);
+        if (subcommand.equals("top")) {
+            if (!sender.hasPermission(TOP_PERMISSION)) {
+                error(sender, "You do not have permission to view the leaderboards.");
+            } else {
+                top(sender, args);
+            }
+            return true;
+        }
+        if (subcommand.equals("claim")) {
+            if (!sender.hasPermission(CLAIM_PERMISSION)) {
+                error(sender, "You do not have permission to claim heads.");
+            } else {
+                claim(sender);
+            }
+            return true;
+        }
+        if (!sender.hasPermission(ADMIN_PERMISSION)) {
+            error(sender, "You do not have permission to do that.");
+            return true;
+        }
+
+        switch (subcommand) {
+            case "reload" -> reload(sender);
+            case "scan" -> scan(sender, args);
+            case "stats" -> stats(sender);
+            case "near" -> near(sender, args);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        boolean admin = sender.hasPermission(ADMIN_PERMISSION);
+        if (args.length == 1) {
+            List<String> options = new ArrayList<>(admin ? SUBCOMMANDS : List.of());
+            if (sender.hasPermission(TOP_PERMISSION)) {
+                options.add("top");
+            }
+            if (sender instanceof Player && sender.hasPermission(CLAIM_PERMISSION)) {
+                options.add("claim");
+            }
+            return matching(options, args[0]);
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("top")) {
+            return matching(BOARDS, args[1]);
+        }
+        if (args.length == 2 && admin && args[0].equalsIgnoreCase("scan")) {
+            List<String> worlds = new ArrayList<>();
+            for (World world : plugin.getServer().getWorlds()) {
+                worlds.add(world.getName());
+            }
+            return matching(worlds, args[1]);
+        }
+        return List.of();
+    }
+
+    private void reload(CommandSender sender) {
+        plugin.reloadPluginSettings().whenComplete((settings, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Failed to reload configuration: " + error);
+                error(sender, "Reload failed: " + error.getMessage());
+            } else {
+                info(sender, "HeadDrops configuration reloaded.");
+            }
+        });
+    }
+
+    private void scan(CommandSender sender, String[] args) {
+        World world = args.length > 1 ? plugin.getServer().getWorld(args[1]) : plugin.getServer().getWorlds().get(0);
+        if (world == null) {
+            error(sender, "Unknown world '" + args[1] + "'.");
+            return;
+        }
+        if (!scanning.compareAndSet(false, true)) {
+            error(sender, "A scan is already running.");
+            return;
+        }
+
+        Path worldFolder = world.getWorldFolder().toPath();
+        Path reportFile = plugin.getDataFolder().toPath().resolve("scans")
+                .resolve(world.getName() + "-" + LocalDateTime.now().format(REPORT_NAME) + ".txt");
+        info(sender, "Scanning saved data of '" + world.getName() + "'. Unsaved changes are not included.");
+
+        plugin.getServer().getAsyncScheduler().runNow(plugin, task -> {
+            AtomicInteger reportedStep = new AtomicInteger();
+            DupeScanner scanner = new DupeScanner(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), progress -> {
+                int step = (int) (progress.fraction() * PROGRESS_STEPS);
+                int previous = reportedStep.get();
+                if (step > previous && step < PROGRESS_STEPS && reportedStep.compareAndSet(previous, step)) {
+                    info(sender, "Scan " + step * (100 / PROGRESS_STEPS) + "% (" + progress.filesDone() + "/"
+                            + progress.filesTotal() + " files)");
+                }
+            });
+            try {
+                DupeReport report = scanner.scan(worldFolder);
+                Files.createDirectories(reportFile.getParent());
+                try (Writer writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+                    report.writeTo(writer);
+                }
+                plugin.getLogger().info(report.summary());
+                info(sender, report.summary());
+                info(sender, "Report written to " + plugin.getDataFolder().toPath().relativize(reportFile));
+            } catch (IOException ex) {
+                plugin.getLogger().warning("Dupe scan of '" + world.getName() + "' failed: " + ex.getMessage());
+                error(sender, "Scan failed: " + ex.getMessage());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                scanning.set(false);
+            }
+        });
+    }
+
+    private void near(CommandSender sender, String[] args) {
+        if (!(sender instanceof Entity entity)) {
+            error(sender, "Only players can search for nearby heads.");
+            return;
+        }
+        int radius;
+        try {
+            radius = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        } catch (NumberFormatException ex) {
+            error(sender, "Radius must be a number.");
+            return;
+        }
+        if (radius < 1 || radius > MAX_NEAR_RADIUS) {
+            error(sender, "Radius must be between 1 and " + MAX_NEAR_RADIUS + ".");
+            return;
+        }
+
+        Location center = entity.getLocation();
+        List<Location> heads = new ArrayList<>(plugin.placedHeads().near(center, radius));
+        heads.sort((a, b) -> Double.compare(a.distanceSquared(center), b.distanceSquared(center)));
+        info(sender, heads.size() + " placed heads within " + radius + " blocks.");
+        for (int i = 0; i < Math.min(MAX_NEAR_LISTED, heads.size()); i++) {
+            Location head = heads.get(i);
+            info(sender, " " + head.getBlockX() + ", " + head.getBlockY() + ", " + head.getBlockZ()
+                    + " (" + Math.round(Math.sqrt(head.distanceSquared(center))) + "m)");
+        }
+    }
+
+    private void top(CommandSender sender, String[] args) {
+        boolean wanted = args.length > 1 && args[1].equalsIgnoreCase("wanted");
+        if (args.length > 1 && !wanted && !args[1].equalsIgnoreCase("killers")) {
+            error(sender, "Board must be 'killers' or 'wanted'.");
+            return;
+        }
+        int count;
+        try {
+            count = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_TOP_LISTED;
+        } catch (NumberFormatException ex) {
+            error(sender, "Count must be a number.");
+            return;
+        }
+        if (count < 1 || count > MAX_TOP_LISTED) {
+            error(sender, "Count must be between 1 and " + MAX_TOP_LISTED + ".");
+            return;
+        }
+
+        Leaderboard board = wanted ? plugin.leaderboards().victims() : plugin.leaderboards().killers();
+        List<Leaderboard.Entry> entries = board.top(count);
+        if (entries.isEmpty()) {
+            info(sender, "No heads have been taken yet.");
+            return;
+        }
+        info(sender, wanted ? "Most wanted (heads lost):" : "Most heads taken:");
+        for (int i = 0; i < entries.size(); i++) {
+            Leaderboard.Entry entry = entries.get(i);
+            info(sender, " " + (i + 1) + ". " + displayName(entry) + " - " + entry.count());
+        }
+    }
+
+    private String displayName(Leaderboard.Entry entry) {
+        if (entry.name() != null) {
+            return entry.name();
+        }
+        String name = plugin.getServer().getOfflinePlayer(entry.playerId()).getName();
+        return name != null ? name : entry.playerId().toString();
+    }
+
+    private void claim(CommandSender sender) {
+        if (!(sender instanceof Player player)) {
+            error(sender, "Only players can claim heads.");
+            return;
+        }
+        HeadDelivery delivery = plugin.delivery();
+        if (delivery.claiming(player.getUniqueId())) {
+            info(sender, "Your last claim is still being handed over.");
+            return;
+        }
+        if (delivery.waiting(player.getUniqueId()) == 0) {
+            info(sender, "No heads are waiting for you.");
+            return;
+        }
+        delivery.claim(player).whenComplete((claimed, failure) -> {
+            if (failure != null) {
+                plugin.getLogger().warning("Failed to record a mailbox claim for " + player.getName() + ": "
+                        + failure.getMessage());
+                error(sender, "Your heads could not be claimed right now. Try again later.");
+                return;
+            }
+            int left = delivery.waiting(player.getUniqueId());
+            if (claimed == 0) {
+                error(sender, "Your inventory is full. " + left + " heads are still waiting.");
+            } else if (left > 0) {
+                info(sender, "Claimed " + claimed + " heads. Make room for the other " + left + ".");
+            } else {
+                info(sender, "Claimed " + claimed + (claimed == 1 ? " head." : " heads."));
+            }
+        });
+    }
+
+    private void stats(CommandSender sender) {
+        HeadDropsMetrics metrics = plugin.metrics();
+        info(sender, "Drops: " + metrics.dropsGranted() + " granted of " + metrics.dropsRolled() + " rolled, "
+                + plugin.serialsIssued() + " serials issued");
+        HeadDelivery delivery = plugin.delivery();
+        info(sender, "Delivery: " + delivery.delivered() + " to inventories, " + delivery.mailboxed() + " to mailboxes, "
+                + delivery.claimed() + " claimed");
+        info(sender, "Throttled: " + plugin.dropThrottle().pairThrottled() + " same victim, "
+                + plugin.dropThrottle().killerThrottled() + " per killer");
+        latency(sender, "Death", metrics.deathLatency());
+        latency(sender, "Place", metrics.placeLatency());
+        latency(sender, "Break", metrics.breakLatency());
+
+        ProfileCache profiles = plugin.profileCache();
+        info(sender, "Profiles: " + profiles.size() + " cached, " + profiles.hits() + " hits, " + profiles.misses()
+                + " misses, " + profiles.loadFailures() + " failed loads");
+        HeadPrototypeCache prototypes = plugin.headPrototypes();
+        info(sender, "Prototypes: " + prototypes.size() + " cached, " + prototypes.hits() + " hits, "
+                + prototypes.misses() + " misses");
+        HeadLedger ledger = plugin.ledger();
+        if (ledger != null) {
+            info(sender, "Ledger: " + ledger.written() + " written, " + ledger.queued() + " queued, "
+                    + ledger.dropped() + " dropped");
+        }
+        AuditMetrics audit = plugin.auditor().metrics();
+        info(sender, "Audit: " + audit.slotsScanned() + " slots in " + audit.nanosSpent() / 1_000_000L + " ms over "
+                + audit.passesCompleted() + " passes");
+    }
+
+    private static void latency(CommandSender sender, String name, LatencyHistogram histogram) {
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        info(sender, name + ": " + snapshot.count() + " events, p50 " + micros(snapshot.percentile(0.5))
+                + ", p99 " + micros(snapshot.percentile(0.99)) + ", max " + micros(snapshot.max()));
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.1fµs", nanos / 1_000.0D);
+    }
+
+    private static List<String> matching(List<String> options, String prefix) {
+        String lower = prefix.toLowerCase(Locale.ROOT);
+        List<String> matches = new ArrayList<>();
+        for (String option : options) {
+            if (option.toLowerCase(Locale.ROOT).startsWith(lower)) {
+                matches.add(option);
+            }
+        }
+        return matches;
+    }
+
+    private static void info(CommandSender sender, String message) {
+        sender.sendMessage(Component.text(message, NamedTextColor.GRAY));
+    }
+
+    private static void error(CommandSender sender, String message) {
+        sender.sendMessage(Component.text(message, NamedTextColor.RED));
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.delivery;
+
+import java.util.Locale;
+import java.util.Optional;
+
+public enum DeliveryMode {
+    DROP,
+    INVENTORY;
+
+    public static Optional<DeliveryMode> fromConfig(String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(DeliveryMode.valueOf(value.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+}
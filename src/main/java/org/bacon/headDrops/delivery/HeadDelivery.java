@@ -0,0 +1,168 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.delivery;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bacon.headDrops.HeadDrops;
+import org.bacon.headDrops.utils.HeadUtils;
+import org.bacon.headDrops.utils.HeadUtils.HeadMetadata;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+
+/*
+ * Puts heads straight into the killer's inventory instead of dropping item entities. The killer may be
+ * in another region than the victim, so the hand-off runs on the killer's entity scheduler; anything
+ * that does not fit, or whose killer has left, goes to the mailbox. Without an open mailbox nothing is
+ * delivered and heads drop as usual.
+ */
+public final class HeadDelivery {
+
+    private final HeadDrops plugin;
+    private final HeadMailbox mailbox;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder mailboxed = new LongAdder();
+    private final LongAdder claimed = new LongAdder();
+    private final Set<UUID> claiming = ConcurrentHashMap.newKeySet();
+
+    public HeadDelivery(HeadDrops plugin, HeadMailbox mailbox) {
+        this.plugin = plugin;
+        this.mailbox = mailbox;
+    }
+
+    public void deliver(Player killer, HeadMetadata head, ItemStack item) {
+        UUID killerId = killer.getUniqueId();
+        boolean scheduled = killer.getScheduler().execute(plugin, () -> {
+            if (killer.getInventory().addItem(item).isEmpty()) {
+                delivered.increment();
+            } else if (toMailbox(killerId, head)) {
+                info(killer, "Your inventory is full; " + head.ownerName() + "'s head is waiting in /headdrops claim.");
+            } else {
+                killer.getWorld().dropItemNaturally(killer.getLocation(), item);
+            }
+        }, () -> toMailbox(killerId, head), 1L);
+        if (!scheduled) {
+            toMailbox(killerId, head);
+        }
+    }
+
+    // Called on the player's own thread, claiming only as many heads as there are empty slots. The removal
+    // is forced to disk on the async scheduler, so no region thread waits on it, and the heads stay in the
+    // mailbox until it is written; they are then handed over on the player's scheduler. Completes with the
+    // number of heads that reached the inventory.
+    public CompletableFuture<Integer> claim(Player player) {
+        UUID playerId = player.getUniqueId();
+        int free = freeSlots(player.getInventory());
+        if (free == 0 || !claiming.add(playerId)) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        plugin.getServer().getAsyncScheduler().runNow(plugin, task -> {
+            List<HeadMetadata> heads;
+            try {
+                heads = mailbox.take(playerId, free);
+            } catch (IOException ex) {
+                claiming.remove(playerId);
+                result.completeExceptionally(ex);
+                return;
+            }
+            // The player left before the hand-over; the heads go back to their box.
+            Runnable retired = () -> {
+                claiming.remove(playerId);
+                for (HeadMetadata head : heads) {
+                    mailbox.put(playerId, head);
+                }
+                result.complete(0);
+            };
+            boolean scheduled = player.getScheduler().execute(plugin, () -> {
+                claiming.remove(playerId);
+                result.complete(give(player, heads));
+            }, retired, 1L);
+            if (!scheduled) {
+                retired.run();
+            }
+        });
+        return result;
+    }
+
+    public boolean claiming(UUID playerId) {
+        return claiming.contains(playerId);
+    }
+
+    public boolean available() {
+        return mailbox.isOpen();
+    }
+
+    public int waiting(UUID playerId) {
+        return mailbox.count(playerId);
+    }
+
+    public long delivered() {
+        return delivered.sum();
+    }
+
+    public long mailboxed() {
+        return mailboxed.sum();
+    }
+
+    public long claimed() {
+        return claimed.sum();
+    }
+
+    private int give(Player player, List<HeadMetadata> heads) {
+        PlayerInventory inventory = player.getInventory();
+        int given = 0;
+        for (HeadMetadata head : heads) {
+            Map<Integer, ItemStack> leftover = inventory.addItem(HeadUtils.createHeadItem(plugin, head, null));
+            if (leftover.isEmpty()) {
+                given++;
+            } else if (!mailbox.put(player.getUniqueId(), head)) {
+                player.getWorld().dropItemNaturally(player.getLocation(), leftover.values().iterator().next());
+            }
+        }
+        claimed.add(given);
+        return given;
+    }
+
+    private static int freeSlots(PlayerInventory inventory) {
+        int free = 0;
+        for (ItemStack stack : inventory.getStorageContents()) {
+            if (stack == null || stack.getType().isAir()) {
+                free++;
+            }
+        }
+        return free;
+    }
+
+    private boolean toMailbox(UUID recipient, HeadMetadata head) {
+        if (!mailbox.put(recipient, head)) {
+            plugin.getLogger().warning("Head mailbox is closed; " + head.ownerName() + "'s head for " + recipient
+                    + " was lost.");
+            return false;
+        }
+        mailboxed.increment();
+        return true;
+    }
+
+    private static void info(Player player, String message) {
+        player.sendMessage(Component.text(message, NamedTextColor.GRAY));
+    }
+}
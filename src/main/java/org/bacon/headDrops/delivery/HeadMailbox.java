@@ -0,0 +1,309 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.delivery;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+import org.bacon.headDrops.utils.AtomicFiles;
+import org.bacon.headDrops.utils.HeadDataCodec;
+import org.bacon.headDrops.utils.HeadUtils.HeadMetadata;
+
+/*
+ * Heads waiting for players whose inventory was full. The boxes live in memory; every change is also
+ * appended to one file as a record:
+ *   PUT:  type, recipient (2 longs), length (short), encoded head
+ *   TAKE: type, recipient (2 longs), count (int) - the recipient's oldest heads were claimed
+ * PUTs are queued and written by a writer thread in batches. A TAKE is written and forced by the thread
+ * calling take(), behind everything queued before it, before the heads are handed out, so a crash can
+ * never bring claimed heads back. take() blocks on the disk and must not be called on a region thread.
+ * On open the file is replayed, then rewritten with only the unclaimed heads.
+ */
+public final class HeadMailbox {
+
+    private static final int MAGIC = 0x48444D42;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final byte RECORD_PUT = 1;
+    private static final byte RECORD_TAKE = 2;
+    private static final int RECIPIENT_BYTES = 1 + Long.BYTES * 2;
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private final Path file;
+    private final Logger logger;
+    private final Map<UUID, ArrayDeque<HeadMetadata>> boxes = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<byte[]> pending = new ConcurrentLinkedQueue<>();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failedWrites = new LongAdder();
+    private final Object writeLock = new Object();
+    private final ByteBuffer batch = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+
+    private volatile boolean running;
+    private FileChannel channel;
+    private Thread writer;
+
+    public HeadMailbox(Path file, Logger logger) {
+        this.file = file;
+        this.logger = logger;
+    }
+
+    public synchronized void open() throws IOException {
+        if (running) {
+            return;
+        }
+        if (Files.exists(file)) {
+            replay(ByteBuffer.wrap(Files.readAllBytes(file)));
+        }
+        compact();
+        channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        running = true;
+        writer = new Thread(this::runWriter, "HeadDrops Mailbox Writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            logger.warning("Mailbox writer did not finish in time; recent mailbox changes may be lost.");
+        }
+        synchronized (writeLock) {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                logger.warning("Failed to close head mailbox: " + ex.getMessage());
+            }
+        }
+    }
+
+    public boolean isOpen() {
+        return running;
+    }
+
+    // Refuses heads while the mailbox is not open, since nothing would write them or let them be claimed.
+    public boolean put(UUID recipient, HeadMetadata head) {
+        if (!running) {
+            return false;
+        }
+        byte[] encoded = HeadDataCodec.encode(head);
+        ByteBuffer record = ByteBuffer.allocate(RECIPIENT_BYTES + Short.BYTES + encoded.length);
+        putRecipient(record, RECORD_PUT, recipient);
+        record.putShort((short) encoded.length);
+        record.put(encoded);
+
+        ArrayDeque<HeadMetadata> box = boxes.computeIfAbsent(recipient, key -> new ArrayDeque<>());
+        synchronized (box) {
+            box.addLast(head);
+            pending.offer(record.array());
+        }
+        return true;
+    }
+
+    // Removes and returns up to max of the recipient's oldest heads once the removal is on disk. If it
+    // cannot be written the heads stay in the box and the exception is passed on.
+    public List<HeadMetadata> take(UUID recipient, int max) throws IOException {
+        ArrayDeque<HeadMetadata> box = boxes.get(recipient);
+        if (box == null || max <= 0) {
+            return List.of();
+        }
+        synchronized (box) {
+            int count = Math.min(max, box.size());
+            if (count == 0) {
+                return List.of();
+            }
+            ByteBuffer record = ByteBuffer.allocate(RECIPIENT_BYTES + Integer.BYTES);
+            putRecipient(record, RECORD_TAKE, recipient);
+            record.putInt(count);
+            synchronized (writeLock) {
+                if (!running) {
+                    throw new IOException("Head mailbox is closed");
+                }
+                // The recipient's queued PUTs go out first, so replay sees the heads before their removal.
+                writePending(record.array());
+            }
+
+            List<HeadMetadata> taken = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                taken.add(box.pollFirst());
+            }
+            return taken;
+        }
+    }
+
+    public int count(UUID recipient) {
+        ArrayDeque<HeadMetadata> box = boxes.get(recipient);
+        if (box == null) {
+            return 0;
+        }
+        synchronized (box) {
+            return box.size();
+        }
+    }
+
+    public long recordsWritten() {
+        return written.sum();
+    }
+
+    public long failedWrites() {
+        return failedWrites.sum();
+    }
+
+    private void replay(ByteBuffer buffer) {
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                logger.warning("Ignoring unrecognised head mailbox " + file);
+                return;
+            }
+            while (buffer.hasRemaining()) {
+                int start = buffer.position();
+                try {
+                    byte type = buffer.get();
+                    UUID recipient = new UUID(buffer.getLong(), buffer.getLong());
+                    ArrayDeque<HeadMetadata> box = boxes.computeIfAbsent(recipient, key -> new ArrayDeque<>());
+                    if (type == RECORD_PUT) {
+                        byte[] encoded = new byte[buffer.getShort() & 0xFFFF];
+                        buffer.get(encoded);
+                        box.addLast(HeadDataCodec.decode(encoded));
+                    } else if (type == RECORD_TAKE) {
+                        for (int count = buffer.getInt(); count > 0 && !box.isEmpty(); count--) {
+                            box.pollFirst();
+                        }
+                    } else {
+                        throw new IllegalArgumentException("unknown record type " + type);
+                    }
+                } catch (BufferUnderflowException | IllegalArgumentException ex) {
+                    logger.warning("Head mailbox is damaged after byte " + start + "; later entries are lost: " + ex.getMessage());
+                    return;
+                }
+            }
+        } catch (BufferUnderflowException ex) {
+            logger.warning("Ignoring truncated head mailbox " + file);
+        }
+    }
+
+    private void compact() throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        int size = HEADER_BYTES;
+        for (Map.Entry<UUID, ArrayDeque<HeadMetadata>> entry : boxes.entrySet()) {
+            for (HeadMetadata head : entry.getValue()) {
+                byte[] encoded = HeadDataCodec.encode(head);
+                ByteBuffer record = ByteBuffer.allocate(RECIPIENT_BYTES + Short.BYTES + encoded.length);
+                putRecipient(record, RECORD_PUT, entry.getKey());
+                record.putShort((short) encoded.length);
+                record.put(encoded);
+                records.add(record.array());
+                size += record.capacity();
+            }
+        }
+        boxes.values().removeIf(ArrayDeque::isEmpty);
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        for (byte[] record : records) {
+            buffer.put(record);
+        }
+        AtomicFiles.write(file, buffer.array());
+    }
+
+    private void runWriter() {
+        while (running || !pending.isEmpty()) {
+            if (pending.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            synchronized (writeLock) {
+                try {
+                    writePending(null);
+                } catch (IOException ex) {
+                    failedWrites.increment();
+                    logger.warning("Failed to append head mailbox records: " + ex.getMessage());
+                }
+            }
+        }
+    }
+
+    // Appends every queued record, then last if given, and forces them to disk. Caller holds writeLock.
+    private void writePending(byte[] last) throws IOException {
+        int records = 0;
+        try {
+            byte[] record;
+            while ((record = pending.poll()) != null) {
+                append(record);
+                records++;
+            }
+            if (last != null) {
+                append(last);
+                records++;
+            }
+            if (records == 0) {
+                return;
+            }
+            drain();
+            channel.force(false);
+            written.add(records);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private void append(byte[] record) throws IOException {
+        if (record.length > batch.remaining()) {
+            drain();
+        }
+        if (record.length > batch.remaining()) {
+            ByteBuffer large = ByteBuffer.wrap(record);
+            while (large.hasRemaining()) {
+                channel.write(large);
+            }
+        } else {
+            batch.put(record);
+        }
+    }
+
+    private void drain() throws IOException {
+        batch.flip();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        batch.clear();
+    }
+
+    private static void putRecipient(ByteBuffer record, byte type, UUID recipient) {
+        record.put(type);
+        record.putLong(recipient.getMostSignificantBits());
+        record.putLong(recipient.getLeastSignificantBits());
+    }
+}
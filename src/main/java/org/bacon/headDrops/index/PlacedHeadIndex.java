@@ -0,0 +1,382 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.index;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import org.bacon.headDrops.HeadDrops;
+import org.bacon.headDrops.api.PlacedHeads;
+import org.bacon.headDrops.utils.AtomicFiles;
+import org.bacon.headDrops.utils.HeadUtils;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Skull;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+/*
+ * Positions of placed plugin heads, sharded per world and per 32x32-chunk region and kept per chunk as
+ * sorted packed block keys. The chunk's PDC is the source of truth: a chunk is read when it loads (or the
+ * first time it is asked about). Only chunks holding heads get a PDC entry, so a chunk without one is
+ * scanned on load instead of being written to and marked dirty; its scan finds nothing and nothing is
+ * kept for it. Chunks that hold heads stay in memory after they unload, and the whole index is mirrored
+ * to a sidecar file, so radius queries can answer for unloaded chunks without loading them.
+ */
+public final class PlacedHeadIndex implements PlacedHeads {
+
+    private static final long[] NO_HEADS = new long[0];
+    private static final int SNAPSHOT_MAGIC = 0x48445048;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final HeadDrops plugin;
+    private final NamespacedKey key;
+    private final Map<UUID, Map<Long, RegionShard>> worlds = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    public PlacedHeadIndex(HeadDrops plugin, NamespacedKey key) {
+        this.plugin = plugin;
+        this.key = key;
+    }
+
+    public static boolean isHeadMaterial(Material material) {
+        return material == Material.PLAYER_HEAD || material == Material.PLAYER_WALL_HEAD;
+    }
+
+    public boolean contains(Block block) {
+        ChunkHeads heads = indexed(block);
+        if (heads == null) {
+            heads = read(block.getChunk());
+        }
+        return heads.contains(block.getBlockKey());
+    }
+
+    public void add(Block block) {
+        RegionShard shard = shard(block.getWorld().getUID(), block.getX() >> 4, block.getZ() >> 4, true);
+        ChunkHeads heads = shard.chunks.computeIfAbsent(chunkKey(block), ignored -> read(block.getChunk()));
+        if (heads.add(block.getBlockKey())) {
+            store(block.getChunk(), heads);
+        }
+    }
+
+    public void remove(Block block) {
+        ChunkHeads heads = indexed(block);
+        if (heads == null) {
+            heads = read(block.getChunk());
+        }
+        if (heads.remove(block.getBlockKey())) {
+            store(block.getChunk(), heads);
+            if (heads.size() == 0) {
+                RegionShard shard = shard(block.getWorld().getUID(), block.getX() >> 4, block.getZ() >> 4, false);
+                if (shard != null) {
+                    shard.chunks.remove(chunkKey(block), heads);
+                }
+            }
+        }
+    }
+
+    public void load(Chunk chunk) {
+        ChunkHeads loaded = read(chunk);
+        RegionShard shard = shard(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ(), loaded.size() > 0);
+        ChunkHeads previous;
+        if (loaded.size() > 0) {
+            previous = shard.chunks.put(chunk.getChunkKey(), loaded);
+        } else {
+            previous = shard == null ? null : shard.chunks.remove(chunk.getChunkKey());
+        }
+        if (previous == null ? loaded.size() > 0 : !Arrays.equals(previous.positions(), loaded.positions())) {
+            dirty.set(true);
+        }
+    }
+
+    public void unload(Chunk chunk) {
+        RegionShard shard = shard(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ(), false);
+        if (shard != null) {
+            shard.chunks.computeIfPresent(chunk.getChunkKey(), (ignored, heads) -> heads.size() == 0 ? null : heads);
+        }
+    }
+
+    @Override
+    public List<Location> near(Location center, int radius) {
+        World world = center.getWorld();
+        if (world == null || radius < 0) {
+            return List.of();
+        }
+        Map<Long, RegionShard> regions = worlds.get(world.getUID());
+        if (regions == null) {
+            return List.of();
+        }
+
+        int x = center.getBlockX();
+        int y = center.getBlockY();
+        int z = center.getBlockZ();
+        long radiusSquared = (long) radius * radius;
+        int minChunkX = (x - radius) >> 4;
+        int maxChunkX = (x + radius) >> 4;
+        int minChunkZ = (z - radius) >> 4;
+        int maxChunkZ = (z + radius) >> 4;
+
+        List<Location> found = new ArrayList<>();
+        for (int regionX = minChunkX >> 5; regionX <= maxChunkX >> 5; regionX++) {
+            for (int regionZ = minChunkZ >> 5; regionZ <= maxChunkZ >> 5; regionZ++) {
+                RegionShard shard = regions.get(Chunk.getChunkKey(regionX, regionZ));
+                if (shard == null) {
+                    continue;
+                }
+                int fromX = Math.max(minChunkX, regionX << 5);
+                int toX = Math.min(maxChunkX, (regionX << 5) + 31);
+                int fromZ = Math.max(minChunkZ, regionZ << 5);
+                int toZ = Math.min(maxChunkZ, (regionZ << 5) + 31);
+                long overlap = (long) (toX - fromX + 1) * (toZ - fromZ + 1);
+
+                if (shard.chunks.size() < overlap) {
+                    for (Map.Entry<Long, ChunkHeads> entry : shard.chunks.entrySet()) {
+                        long chunkKey = entry.getKey();
+                        int chunkX = (int) chunkKey;
+                        int chunkZ = (int) (chunkKey >> 32);
+                        if (chunkX >= fromX && chunkX <= toX && chunkZ >= fromZ && chunkZ <= toZ) {
+                            collect(entry.getValue(), world, x, y, z, radiusSquared, found);
+                        }
+                    }
+                } else {
+                    for (int chunkX = fromX; chunkX <= toX; chunkX++) {
+                        for (int chunkZ = fromZ; chunkZ <= toZ; chunkZ++) {
+                            ChunkHeads heads = shard.chunks.get(Chunk.getChunkKey(chunkX, chunkZ));
+                            if (heads != null) {
+                                collect(heads, world, x, y, z, radiusSquared, found);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private static void collect(ChunkHeads heads, World world, int x, int y, int z, long radiusSquared, List<Location> found) {
+        for (long position : heads.positions()) {
+            int headX = Block.getBlockKeyX(position);
+            int headY = Block.getBlockKeyY(position);
+            int headZ = Block.getBlockKeyZ(position);
+            long dx = headX - x;
+            long dy = headY - y;
+            long dz = headZ - z;
+            if (dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                found.add(new Location(world, headX, headY, headZ));
+            }
+        }
+    }
+
+    public void readSnapshot(Path file, Logger logger) {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_VERSION) {
+                logger.warning("Ignoring unrecognised placed head snapshot " + file);
+                return;
+            }
+            int worldCount = buffer.getInt();
+            for (int w = 0; w < worldCount; w++) {
+                UUID worldId = new UUID(buffer.getLong(), buffer.getLong());
+                int chunkCount = buffer.getInt();
+                for (int c = 0; c < chunkCount; c++) {
+                    long chunkKey = buffer.getLong();
+                    int headCount = buffer.getInt();
+                    if (headCount < 0 || headCount > buffer.remaining() / Long.BYTES) {
+                        throw new IllegalArgumentException("corrupt head count " + headCount);
+                    }
+                    long[] positions = new long[headCount];
+                    buffer.asLongBuffer().get(positions);
+                    buffer.position(buffer.position() + positions.length * Long.BYTES);
+                    RegionShard shard = shard(worldId, (int) chunkKey, (int) (chunkKey >> 32), true);
+                    shard.chunks.putIfAbsent(chunkKey, new ChunkHeads(positions));
+                }
+            }
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException ex) {
+            logger.warning("Failed to read placed head snapshot, chunks will be indexed as they load: " + ex.getMessage());
+        }
+    }
+
+    public void writeSnapshot(Path file, Logger logger) {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+
+        int size = Integer.BYTES * 3;
+        List<UUID> worldIds = new ArrayList<>();
+        List<List<Map.Entry<Long, long[]>>> worldChunks = new ArrayList<>();
+        for (Map.Entry<UUID, Map<Long, RegionShard>> world : worlds.entrySet()) {
+            List<Map.Entry<Long, long[]>> chunks = new ArrayList<>();
+            for (RegionShard shard : world.getValue().values()) {
+                for (Map.Entry<Long, ChunkHeads> chunk : shard.chunks.entrySet()) {
+                    long[] positions = chunk.getValue().positions();
+                    if (positions.length > 0) {
+                        chunks.add(Map.entry(chunk.getKey(), positions));
+                        size += Long.BYTES + Integer.BYTES + positions.length * Long.BYTES;
+                    }
+                }
+            }
+            worldIds.add(world.getKey());
+            worldChunks.add(chunks);
+            size += Long.BYTES * 2 + Integer.BYTES;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(SNAPSHOT_MAGIC);
+        buffer.putInt(SNAPSHOT_VERSION);
+        buffer.putInt(worldIds.size());
+        for (int i = 0; i < worldIds.size(); i++) {
+            buffer.putLong(worldIds.get(i).getMostSignificantBits());
+            buffer.putLong(worldIds.get(i).getLeastSignificantBits());
+            buffer.putInt(worldChunks.get(i).size());
+            for (Map.Entry<Long, long[]> chunk : worldChunks.get(i)) {
+                buffer.putLong(chunk.getKey());
+                buffer.putInt(chunk.getValue().length);
+                for (long position : chunk.getValue()) {
+                    buffer.putLong(position);
+                }
+            }
+        }
+
+        try {
+            AtomicFiles.write(file, buffer.array());
+        } catch (IOException ex) {
+            dirty.set(true);
+            logger.warning("Failed to write placed head snapshot: " + ex.getMessage());
+        }
+    }
+
+    private ChunkHeads indexed(Block block) {
+        RegionShard shard = shard(block.getWorld().getUID(), block.getX() >> 4, block.getZ() >> 4, false);
+        return shard == null ? null : shard.chunks.get(chunkKey(block));
+    }
+
+    private static long chunkKey(Block block) {
+        return Chunk.getChunkKey(block.getX() >> 4, block.getZ() >> 4);
+    }
+
+    private RegionShard shard(UUID worldId, int chunkX, int chunkZ, boolean create) {
+        long regionKey = Chunk.getChunkKey(chunkX >> 5, chunkZ >> 5);
+        if (!create) {
+            Map<Long, RegionShard> regions = worlds.get(worldId);
+            return regions == null ? null : regions.get(regionKey);
+        }
+        return worlds.computeIfAbsent(worldId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(regionKey, ignored -> new RegionShard());
+    }
+
+    private ChunkHeads read(Chunk chunk) {
+        PersistentDataContainer container = chunk.getPersistentDataContainer();
+        long[] stored = container.get(key, PersistentDataType.LONG_ARRAY);
+        if (stored != null) {
+            return new ChunkHeads(stored);
+        }
+
+        ChunkHeads heads = new ChunkHeads(NO_HEADS);
+        for (BlockState state : chunk.getTileEntities(block -> isHeadMaterial(block.getType()), false)) {
+            if (!(state instanceof Skull skull)) {
+                continue;
+            }
+            PersistentDataContainer skullData = skull.getPersistentDataContainer();
+            if (HeadUtils.migrateLegacyHeadData(plugin, skullData)) {
+                skull.update(true, false);
+            }
+            if (HeadUtils.readHeadData(plugin, skullData).isPresent()) {
+                heads.add(skull.getBlock().getBlockKey());
+            }
+        }
+        if (heads.size() > 0) {
+            container.set(key, PersistentDataType.LONG_ARRAY, heads.positions());
+        }
+        return heads;
+    }
+
+    private void store(Chunk chunk, ChunkHeads heads) {
+        PersistentDataContainer container = chunk.getPersistentDataContainer();
+        if (heads.size() == 0) {
+            container.remove(key);
+        } else {
+            container.set(key, PersistentDataType.LONG_ARRAY, heads.positions());
+        }
+        dirty.set(true);
+    }
+
+    private static final class RegionShard {
+
+        private final Map<Long, ChunkHeads> chunks = new ConcurrentHashMap<>();
+    }
+
+    // Copy-on-write: every change swaps in a new array, so readers can use the current one without locking.
+    private static final class ChunkHeads {
+
+        private volatile long[] positions;
+
+        private ChunkHeads(long[] positions) {
+            long[] sorted = positions.clone();
+            Arrays.sort(sorted);
+            this.positions = sorted;
+        }
+
+        long[] positions() {
+            return positions;
+        }
+
+        int size() {
+            return positions.length;
+        }
+
+        boolean contains(long position) {
+            long[] current = positions;
+            return current.length != 0 && Arrays.binarySearch(current, position) >= 0;
+        }
+
+        synchronized boolean add(long position) {
+            int index = Arrays.binarySearch(positions, position);
+            if (index >= 0) {
+                return false;
+            }
+            int insertAt = -index - 1;
+            long[] grown = new long[positions.length + 1];
+            System.arraycopy(positions, 0, grown, 0, insertAt);
+            grown[insertAt] = position;
+            System.arraycopy(positions, insertAt, grown, insertAt + 1, positions.length - insertAt);
+            positions = grown;
+            return true;
+        }
+
+        synchronized boolean remove(long position) {
+            int index = Arrays.binarySearch(positions, position);
+            if (index < 0) {
+                return false;
+            }
+            long[] shrunk = new long[positions.length - 1];
+            System.arraycopy(positions, 0, shrunk, 0, index);
+            System.arraycopy(positions, index + 1, shrunk, index, positions.length - index - 1);
+            positions = shrunk;
+            return true;
+        }
+    }
+}
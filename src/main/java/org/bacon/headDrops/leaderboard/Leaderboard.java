@@ -0,0 +1,176 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.leaderboard;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+ * Per-player counts for one board, split over shards by UUID so drops in different regions rarely
+ * share a lock. The top entries are kept up to date on every count, so reading the board never scans.
+ */
+public final class Leaderboard {
+
+    public record Entry(UUID playerId, String name, int count) {
+    }
+
+    static final int TOP_SIZE = 50;
+
+    private static final int SHARDS = 64;
+    private static final int PLAYER_BYTES = Long.BYTES * 2 + Integer.BYTES;
+
+    private final UuidCountMap[] shards = new UuidCountMap[SHARDS];
+    private final TopK top = new TopK(TOP_SIZE);
+
+    Leaderboard() {
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new UuidCountMap(0);
+        }
+    }
+
+    public int count(UUID playerId) {
+        long most = playerId.getMostSignificantBits();
+        long least = playerId.getLeastSignificantBits();
+        UuidCountMap shard = shard(most, least);
+        synchronized (shard) {
+            return shard.get(most, least);
+        }
+    }
+
+    public List<Entry> top(int limit) {
+        return top.entries(Math.max(0, limit));
+    }
+
+    public int players() {
+        int players = 0;
+        for (UuidCountMap shard : shards) {
+            synchronized (shard) {
+                players += shard.size();
+            }
+        }
+        return players;
+    }
+
+    void increment(UUID playerId, String name) {
+        long most = playerId.getMostSignificantBits();
+        long least = playerId.getLeastSignificantBits();
+        UuidCountMap shard = shard(most, least);
+        int count;
+        synchronized (shard) {
+            count = shard.add(most, least, 1);
+        }
+        top.offer(most, least, count, name);
+    }
+
+    // Copies the counts shard by shard, so drops only wait for the shard being copied.
+    Frozen freeze() {
+        long[] most = new long[0];
+        long[] least = new long[0];
+        int[] counts = new int[0];
+        int players = 0;
+        for (UuidCountMap shard : shards) {
+            synchronized (shard) {
+                int needed = players + shard.size();
+                if (needed > counts.length) {
+                    int capacity = Math.max(needed, counts.length * 2);
+                    most = Arrays.copyOf(most, capacity);
+                    least = Arrays.copyOf(least, capacity);
+                    counts = Arrays.copyOf(counts, capacity);
+                }
+                long[] intoMost = most;
+                long[] intoLeast = least;
+                int[] intoCounts = counts;
+                int[] next = {players};
+                shard.forEach((m, l, c) -> {
+                    intoMost[next[0]] = m;
+                    intoLeast[next[0]] = l;
+                    intoCounts[next[0]++] = c;
+                });
+                players = next[0];
+            }
+        }
+        return new Frozen(players, most, least, counts, top(TOP_SIZE));
+    }
+
+    // Layout: player count, (most, least, count) per player, then the named top entries.
+    record Frozen(int players, long[] most, long[] least, int[] counts, List<Entry> named) {
+
+        int bytes() {
+            int size = Integer.BYTES * 2 + players * PLAYER_BYTES;
+            for (Entry entry : named) {
+                size += Long.BYTES * 2 + Short.BYTES + nameBytes(entry).length;
+            }
+            return size;
+        }
+
+        void writeTo(ByteBuffer buffer) {
+            buffer.putInt(players);
+            for (int i = 0; i < players; i++) {
+                buffer.putLong(most[i]);
+                buffer.putLong(least[i]);
+                buffer.putInt(counts[i]);
+            }
+            buffer.putInt(named.size());
+            for (Entry entry : named) {
+                byte[] name = nameBytes(entry);
+                buffer.putLong(entry.playerId().getMostSignificantBits());
+                buffer.putLong(entry.playerId().getLeastSignificantBits());
+                buffer.putShort((short) name.length);
+                buffer.put(name);
+            }
+        }
+
+        private static byte[] nameBytes(Entry entry) {
+            return entry.name() == null ? new byte[0] : entry.name().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    void read(ByteBuffer buffer) {
+        int players = buffer.getInt();
+        if (players < 0 || players > buffer.remaining() / PLAYER_BYTES) {
+            throw new IllegalArgumentException("corrupt player count " + players);
+        }
+        int entriesStart = buffer.position();
+        buffer.position(entriesStart + players * PLAYER_BYTES);
+        int namedCount = buffer.getInt();
+        Map<UUID, String> names = new HashMap<>();
+        for (int i = 0; i < namedCount; i++) {
+            UUID playerId = new UUID(buffer.getLong(), buffer.getLong());
+            byte[] name = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(name);
+            if (name.length > 0) {
+                names.put(playerId, new String(name, StandardCharsets.UTF_8));
+            }
+        }
+        int end = buffer.position();
+
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new UuidCountMap(players / SHARDS + 1);
+        }
+        buffer.position(entriesStart);
+        for (int i = 0; i < players; i++) {
+            long most = buffer.getLong();
+            long least = buffer.getLong();
+            int count = buffer.getInt();
+            if (count > 0) {
+                shard(most, least).add(most, least, count);
+                top.offer(most, least, count, names.isEmpty() ? null : names.get(new UUID(most, least)));
+            }
+        }
+        buffer.position(end);
+    }
+
+    private UuidCountMap shard(long most, long least) {
+        return shards[UuidCountMap.mix(most, least) >>> 26];
+    }
+}
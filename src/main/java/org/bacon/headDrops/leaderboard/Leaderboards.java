@@ -0,0 +1,87 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.leaderboard;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import org.bacon.headDrops.utils.AtomicFiles;
+
+/*
+ * "Most heads taken" counts per player killer and "most wanted" counts per victim, updated as heads drop
+ * and saved as one binary snapshot.
+ */
+public final class Leaderboards {
+
+    private static final int SNAPSHOT_MAGIC = 0x48444C42;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final Leaderboard killers = new Leaderboard();
+    private final Leaderboard victims = new Leaderboard();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    public Leaderboard killers() {
+        return killers;
+    }
+
+    public Leaderboard victims() {
+        return victims;
+    }
+
+    public void recordDrop(UUID victimId, String victimName, UUID killerId, String killerName) {
+        victims.increment(victimId, victimName);
+        if (killerId != null) {
+            killers.increment(killerId, killerName);
+        }
+        dirty.set(true);
+    }
+
+    public void readSnapshot(Path file, Logger logger) {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_VERSION) {
+                logger.warning("Ignoring unrecognised leaderboard snapshot " + file);
+                return;
+            }
+            killers.read(buffer);
+            victims.read(buffer);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException ex) {
+            logger.warning("Failed to read leaderboard snapshot, boards start empty: " + ex.getMessage());
+        }
+    }
+
+    public void writeSnapshot(Path file, Logger logger) {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+
+        Leaderboard.Frozen frozenKillers = killers.freeze();
+        Leaderboard.Frozen frozenVictims = victims.freeze();
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * 2 + frozenKillers.bytes() + frozenVictims.bytes());
+        buffer.putInt(SNAPSHOT_MAGIC);
+        buffer.putInt(SNAPSHOT_VERSION);
+        frozenKillers.writeTo(buffer);
+        frozenVictims.writeTo(buffer);
+
+        try {
+            AtomicFiles.write(file, buffer.array());
+        } catch (IOException ex) {
+            dirty.set(true);
+            logger.warning("Failed to write leaderboard snapshot: " + ex.getMessage());
+        }
+    }
+}
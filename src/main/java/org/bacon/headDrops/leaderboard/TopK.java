@@ -0,0 +1,102 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.leaderboard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * The K highest counts, sorted descending and updated as counts rise. Counts only ever grow, so a
+ * player already on the board always arrives with more than the volatile entry threshold; everyone at
+ * or below it is turned away without taking the lock, which is nearly every drop once the board fills.
+ */
+final class TopK {
+
+    private final int capacity;
+    private final long[] most;
+    private final long[] least;
+    private final int[] counts;
+    private final String[] names;
+    private int size;
+    private volatile int threshold;
+
+    TopK(int capacity) {
+        this.capacity = capacity;
+        this.most = new long[capacity];
+        this.least = new long[capacity];
+        this.counts = new int[capacity];
+        this.names = new String[capacity];
+    }
+
+    void offer(long mostBits, long leastBits, int count, String name) {
+        if (count <= threshold) {
+            return;
+        }
+        synchronized (this) {
+            int index = indexOf(mostBits, leastBits);
+            if (index >= 0) {
+                if (count <= counts[index]) {
+                    return;
+                }
+                if (name != null) {
+                    names[index] = name;
+                }
+            } else if (size < capacity || count > counts[size - 1]) {
+                index = size < capacity ? size++ : size - 1;
+                most[index] = mostBits;
+                least[index] = leastBits;
+                names[index] = name;
+            } else {
+                return;
+            }
+            counts[index] = count;
+            rise(index);
+            threshold = size == capacity ? counts[size - 1] : 0;
+        }
+    }
+
+    synchronized List<Leaderboard.Entry> entries(int limit) {
+        int shown = Math.min(limit, size);
+        List<Leaderboard.Entry> entries = new ArrayList<>(shown);
+        for (int i = 0; i < shown; i++) {
+            entries.add(new Leaderboard.Entry(new UUID(most[i], least[i]), names[i], counts[i]));
+        }
+        return entries;
+    }
+
+    private int indexOf(long mostBits, long leastBits) {
+        for (int i = 0; i < size; i++) {
+            if (most[i] == mostBits && least[i] == leastBits) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void rise(int index) {
+        for (int i = index; i > 0 && counts[i] > counts[i - 1]; i--) {
+            swap(i, i - 1);
+        }
+    }
+
+    private void swap(int a, int b) {
+        long m = most[a];
+        most[a] = most[b];
+        most[b] = m;
+        long l = least[a];
+        least[a] = least[b];
+        least[b] = l;
+        int c = counts[a];
+        counts[a] = counts[b];
+        counts[b] = c;
+        String n = names[a];
+        names[a] = names[b];
+        names[b] = n;
+    }
+}
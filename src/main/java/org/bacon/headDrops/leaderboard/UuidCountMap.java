@@ -0,0 +1,101 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.leaderboard;
+
+/*
+ * Open-addressing map from a UUID, kept as its two longs, to a positive count. Parallel primitive arrays
+ * keep each player at 20 bytes with no boxing. A zero count marks an empty slot. Not thread-safe; each
+ * Leaderboard shard guards its own map.
+ */
+final class UuidCountMap {
+
+    interface Visitor {
+
+        void visit(long most, long least, int count);
+    }
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] most;
+    private long[] least;
+    private int[] counts;
+    private int size;
+
+    UuidCountMap(int expected) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expected * 2) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    int add(long mostBits, long leastBits, int delta) {
+        if ((size + 1) * 2 > counts.length) {
+            grow();
+        }
+        int slot = find(mostBits, leastBits);
+        if (counts[slot] == 0) {
+            most[slot] = mostBits;
+            least[slot] = leastBits;
+            size++;
+        }
+        counts[slot] += delta;
+        return counts[slot];
+    }
+
+    int get(long mostBits, long leastBits) {
+        return counts[find(mostBits, leastBits)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(Visitor visitor) {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                visitor.visit(most[i], least[i], counts[i]);
+            }
+        }
+    }
+
+    private int find(long mostBits, long leastBits) {
+        int mask = counts.length - 1;
+        for (int slot = mix(mostBits, leastBits) & mask; ; slot = (slot + 1) & mask) {
+            if (counts[slot] == 0 || (most[slot] == mostBits && least[slot] == leastBits)) {
+                return slot;
+            }
+        }
+    }
+
+    private void grow() {
+        long[] oldMost = most;
+        long[] oldLeast = least;
+        int[] oldCounts = counts;
+        allocate(oldCounts.length * 2);
+        for (int i = 0; i < oldCounts.length; i++) {
+            if (oldCounts[i] != 0) {
+                int slot = find(oldMost[i], oldLeast[i]);
+                most[slot] = oldMost[i];
+                least[slot] = oldLeast[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        most = new long[capacity];
+        least = new long[capacity];
+        counts = new int[capacity];
+    }
+
+    static int mix(long mostBits, long leastBits) {
+        long h = (mostBits ^ Long.rotateLeft(leastBits, 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.ledger;
+
+import java.util.Objects;
+
+import org.bacon.headDrops.utils.HeadUtils.HeadMetadata;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+public record HeadEvent(Type type, long eventTime, HeadMetadata head, String world, int x, int y, int z) {
+
+    public enum Type {
+        DROP,
+        PLACE,
+        BREAK
+    }
+
+    public HeadEvent {
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(head, "head");
+    }
+
+    public static HeadEvent of(Type type, HeadMetadata head, Location location) {
+        World world = location.getWorld();
+        return new HeadEvent(
+                type,
+                System.currentTimeMillis(),
+                head,
+                world == null ? null : world.getName(),
+                location.getBlockX(),
+                location.getBlockY(),
+                location.getBlockZ()
+        );
+    }
+}
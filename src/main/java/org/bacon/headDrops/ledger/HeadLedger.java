@@ -0,0 +1,294 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.ledger;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import org.bacon.headDrops.utils.HeadUtils.HeadMetadata;
+
+/*
+ * Append-only history of every head in a local SQLite file. Event threads only enqueue; a single writer
+ * thread drains the queue and inserts in batched transactions. When the queue is full new events are
+ * dropped and counted rather than making a region thread wait.
+ */
+public final class HeadLedger {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private static final String[] SCHEMA = {
+            """
+            CREATE TABLE IF NOT EXISTS head_events (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                event_type TEXT NOT NULL,
+                event_time INTEGER NOT NULL,
+                serial TEXT,
+                owner_uuid TEXT NOT NULL,
+                owner_name TEXT NOT NULL,
+                killer TEXT,
+                head_time INTEGER NOT NULL,
+                world TEXT,
+                x INTEGER,
+                y INTEGER,
+                z INTEGER
+            )
+            """,
+            "CREATE INDEX IF NOT EXISTS idx_head_events_serial ON head_events (serial)",
+            "CREATE INDEX IF NOT EXISTS idx_head_events_owner ON head_events (owner_uuid)",
+            "CREATE INDEX IF NOT EXISTS idx_head_events_killer ON head_events (killer)"
+    };
+
+    private static final String INSERT = "INSERT INTO head_events "
+            + "(event_type, event_time, serial, owner_uuid, owner_name, killer, head_time, world, x, y, z) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String REPLAY = "SELECT event_type, event_time, serial, owner_uuid, owner_name, killer, head_time, "
+            + "world, x, y, z FROM head_events ORDER BY id";
+
+    private final Path databaseFile;
+    private final Logger logger;
+    private final int capacity;
+    private final int backpressureThreshold;
+    private final int batchSize;
+
+    private final ConcurrentLinkedQueue<HeadEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder backpressure = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+
+    private volatile boolean running;
+    private Thread writer;
+    private Connection connection;
+
+    public HeadLedger(Path databaseFile, Logger logger, int capacity, int batchSize) {
+        this.databaseFile = databaseFile;
+        this.logger = logger;
+        this.capacity = Math.max(1, capacity);
+        this.backpressureThreshold = Math.max(1, this.capacity * 3 / 4);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public synchronized void start() throws SQLException {
+        if (running) {
+            return;
+        }
+        connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.toAbsolutePath());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode=WAL");
+            statement.execute("PRAGMA synchronous=NORMAL");
+            for (String ddl : SCHEMA) {
+                statement.execute(ddl);
+            }
+        }
+        connection.setAutoCommit(false);
+
+        running = true;
+        writer = new Thread(this::runWriter, "HeadDrops Ledger Writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            logger.warning("Ledger writer did not finish in time; " + queued.get() + " events were not written.");
+        }
+        try {
+            connection.close();
+        } catch (SQLException ex) {
+            logger.warning("Failed to close head ledger: " + ex.getMessage());
+        }
+    }
+
+    public boolean record(HeadEvent event) {
+        if (!running) {
+            return false;
+        }
+        int size = queued.incrementAndGet();
+        if (size > capacity) {
+            queued.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+        if (size > backpressureThreshold) {
+            backpressure.increment();
+        }
+        queue.offer(event);
+        recorded.increment();
+        if (size >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    // Streams every stored event, oldest first, over a separate read-only connection.
+    public void replay(Consumer<HeadEvent> consumer) throws SQLException {
+        if (!Files.exists(databaseFile)) {
+            return;
+        }
+        try (Connection reader = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.toAbsolutePath());
+             Statement statement = reader.createStatement();
+             ResultSet rows = statement.executeQuery(REPLAY)) {
+            while (rows.next()) {
+                HeadEvent event = read(rows);
+                if (event != null) {
+                    consumer.accept(event);
+                }
+            }
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public Path databaseFile() {
+        return databaseFile;
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    public long recorded() {
+        return recorded.sum();
+    }
+
+    public long written() {
+        return written.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    public long backpressure() {
+        return backpressure.sum();
+    }
+
+    public long failedBatches() {
+        return failedBatches.sum();
+    }
+
+    private void runWriter() {
+        List<HeadEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            HeadEvent event;
+            while (batch.size() < batchSize && (event = queue.poll()) != null) {
+                batch.add(event);
+            }
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            queued.addAndGet(-batch.size());
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<HeadEvent> batch) {
+        try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+            for (HeadEvent event : batch) {
+                bind(insert, event);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            connection.commit();
+            written.add(batch.size());
+        } catch (SQLException ex) {
+            failedBatches.increment();
+            logger.warning("Failed to write " + batch.size() + " ledger events: " + ex.getMessage());
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackEx) {
+                logger.warning("Failed to roll back ledger batch: " + rollbackEx.getMessage());
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement insert, HeadEvent event) throws SQLException {
+        HeadMetadata head = event.head();
+        insert.setString(1, event.type().name());
+        insert.setLong(2, event.eventTime());
+        setNullableString(insert, 3, head.serial());
+        insert.setString(4, head.ownerUuid().toString());
+        insert.setString(5, head.ownerName());
+        setNullableString(insert, 6, head.killerName());
+        insert.setLong(7, head.timestamp().toEpochMilli());
+        if (event.world() == null) {
+            insert.setNull(8, Types.VARCHAR);
+            insert.setNull(9, Types.INTEGER);
+            insert.setNull(10, Types.INTEGER);
+            insert.setNull(11, Types.INTEGER);
+        } else {
+            insert.setString(8, event.world());
+            insert.setInt(9, event.x());
+            insert.setInt(10, event.y());
+            insert.setInt(11, event.z());
+        }
+    }
+
+    private HeadEvent read(ResultSet rows) throws SQLException {
+        HeadEvent.Type type;
+        UUID ownerId;
+        try {
+            type = HeadEvent.Type.valueOf(rows.getString(1));
+            ownerId = UUID.fromString(rows.getString(4));
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            return null;
+        }
+        HeadMetadata head = new HeadMetadata(
+                ownerId,
+                rows.getString(5),
+                Instant.ofEpochMilli(rows.getLong(7)),
+                rows.getString(6),
+                rows.getString(3)
+        );
+        String world = rows.getString(8);
+        return new HeadEvent(type, rows.getLong(2), head, world, rows.getInt(9), rows.getInt(10), rows.getInt(11));
+    }
+
+    private static void setNullableString(PreparedStatement statement, int index, String value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.VARCHAR);
+        } else {
+            statement.setString(index, value);
+        }
+    }
+}
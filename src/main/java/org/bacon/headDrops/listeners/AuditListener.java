@@ -0,0 +1,45 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.listeners;
+
+import org.bacon.headDrops.HeadDrops;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.player.PlayerJoinEvent;
+
+public final class AuditListener implements Listener {
+
+    private final HeadDrops plugin;
+
+    public AuditListener(HeadDrops plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        if (plugin.settings().auditOnJoin()) {
+            plugin.auditor().auditPlayer(event.getPlayer());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryOpen(InventoryOpenEvent event) {
+        if (!plugin.settings().auditOnContainerOpen() || !(event.getPlayer() instanceof Player player)) {
+            return;
+        }
+        InventoryType type = event.getInventory().getType();
+        if (type == InventoryType.PLAYER || type == InventoryType.CRAFTING || type == InventoryType.CREATIVE) {
+            return;
+        }
+        plugin.auditor().auditContainer(player, event.getInventory());
+    }
+}
@@ -10,10 +10,13 @@ package org.bacon.headDrops.listeners;
 import java.util.Optional;
 
 import org.bacon.headDrops.HeadDrops;
+import org.bacon.headDrops.index.PlacedHeadIndex;
+import org.bacon.headDrops.ledger.HeadEvent;
 import org.bacon.headDrops.utils.HeadUtils;
 import org.bacon.headDrops.utils.HeadUtils.HeadMetadata;
 import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
 import org.bukkit.block.Skull;
 import org.bukkit.event.EventHandler;
@@ -32,13 +35,33 @@ public final class BlockBreakListener implements Listener {
 
     @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
     public void onBlockBreak(BlockBreakEvent event) {
-        BlockState state = event.getBlock().getState();
+        long start = System.nanoTime();
+        try {
+            handleBreak(event);
+        } finally {
+            plugin.metrics().breakLatency().record(System.nanoTime() - start);
+        }
+    }
+
+    private void handleBreak(BlockBreakEvent event) {
+        Block block = event.getBlock();
+        if (!PlacedHeadIndex.isHeadMaterial(block.getType())) {
+            return;
+        }
+        PlacedHeadIndex index = plugin.placedHeads();
+        if (!index.contains(block)) {
+            return;
+        }
+
+        BlockState state = block.getState();
         if (!(state instanceof Skull skull)) {
+            index.remove(block);
             return;
         }
 
         Optional<HeadMetadata> metadata = HeadUtils.readHeadData(plugin, skull.getPersistentDataContainer());
         if (metadata.isEmpty()) {
+            index.remove(block);
             return;
         }
 
@@ -51,5 +74,7 @@ public final class BlockBreakListener implements Listener {
 
         HeadUtils.clearHeadData(plugin, skull.getPersistentDataContainer());
         skull.update(true, false);
+        index.remove(block);
+        plugin.recordHeadEvent(HeadEvent.of(HeadEvent.Type.BREAK, metadata.get(), block.getLocation()));
     }
 }
@@ -0,0 +1,150 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.listeners;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+import org.bacon.headDrops.HeadDrops;
+import org.bacon.headDrops.index.PlacedHeadIndex;
+import org.bacon.headDrops.ledger.HeadEvent;
+import org.bacon.headDrops.settings.HeadDropsSettings;
+import org.bacon.headDrops.utils.HeadUtils;
+import org.bacon.headDrops.utils.HeadUtils.HeadMetadata;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Skull;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.inventory.ItemStack;
+
+import com.destroystokyo.paper.event.block.BlockDestroyEvent;
+
+/*
+ * Placed heads destroyed by anything other than a player. Each event makes one pass over its block list:
+ * the material and the placed-head index rule out everything else before a skull's state is touched, the
+ * heads are removed on the spot so the game cannot drop plain skulls, and the tagged items are spawned
+ * together in one task on the region that owns the event.
+ */
+public final class BlockDestructionListener implements Listener {
+
+    private record Drop(Location location, ItemStack item) {
+    }
+
+    private final HeadDrops plugin;
+
+    public BlockDestructionListener(HeadDrops plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        takeHeads(event.blockList());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        takeHeads(event.blockList());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        takeHeads(new ArrayList<>(event.getBlocks()));
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        takeHeads(new ArrayList<>(event.getBlocks()));
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
+    public void onFluidFlow(BlockFromToEvent event) {
+        Block target = event.getToBlock();
+        if (PlacedHeadIndex.isHeadMaterial(target.getType())) {
+            takeHeads(new ArrayList<>(List.of(target)));
+        }
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
+    public void onBlockDestroy(BlockDestroyEvent event) {
+        Block block = event.getBlock();
+        if (!PlacedHeadIndex.isHeadMaterial(block.getType()) || !plugin.placedHeads().contains(block)) {
+            return;
+        }
+        List<Drop> drops = new ArrayList<>(1);
+        if (collect(plugin.settings(), block, drops)) {
+            event.setWillDrop(false);
+            spawn(drops);
+        }
+    }
+
+    // Removes every placed head it takes over from the list, leaving the rest to the game.
+    private void takeHeads(List<Block> blocks) {
+        PlacedHeadIndex index = plugin.placedHeads();
+        HeadDropsSettings settings = null;
+        List<Drop> drops = null;
+
+        for (Iterator<Block> iterator = blocks.iterator(); iterator.hasNext(); ) {
+            Block block = iterator.next();
+            if (!PlacedHeadIndex.isHeadMaterial(block.getType()) || !index.contains(block)) {
+                continue;
+            }
+            if (drops == null) {
+                settings = plugin.settings();
+                drops = new ArrayList<>();
+            }
+            if (collect(settings, block, drops)) {
+                block.setType(Material.AIR, false);
+                iterator.remove();
+            }
+        }
+
+        if (drops != null && !drops.isEmpty()) {
+            spawn(drops);
+        }
+    }
+
+    private boolean collect(HeadDropsSettings settings, Block block, List<Drop> drops) {
+        PlacedHeadIndex index = plugin.placedHeads();
+        BlockState state = block.getState(false);
+        if (!(state instanceof Skull skull)) {
+            index.remove(block);
+            return false;
+        }
+
+        Optional<HeadMetadata> metadata = HeadUtils.readHeadData(plugin, skull.getPersistentDataContainer());
+        index.remove(block);
+        if (metadata.isEmpty()) {
+            return false;
+        }
+
+        ItemStack item = HeadUtils.createHeadItem(plugin, settings, metadata.get(), skull.getPlayerProfile());
+        drops.add(new Drop(block.getLocation().add(0.5, 0.25, 0.5), item));
+        plugin.recordHeadEvent(HeadEvent.of(HeadEvent.Type.BREAK, metadata.get(), block.getLocation()));
+        return true;
+    }
+
+    private void spawn(List<Drop> drops) {
+        Location anchor = drops.get(0).location();
+        plugin.getServer().getRegionScheduler().execute(plugin, anchor, () -> {
+            for (Drop drop : drops) {
+                drop.location().getWorld().dropItemNaturally(drop.location(), drop.item());
+            }
+        });
+    }
+}
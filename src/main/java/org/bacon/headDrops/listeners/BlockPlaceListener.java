@@ -10,6 +10,7 @@ package org.bacon.headDrops.listeners;
 import java.util.Optional;
 
 import org.bacon.headDrops.HeadDrops;
+import org.bacon.headDrops.ledger.HeadEvent;
 import org.bacon.headDrops.utils.HeadUtils;
 import org.bacon.headDrops.utils.HeadUtils.HeadMetadata;
 import org.bukkit.block.BlockState;
@@ -30,6 +31,15 @@ public final class BlockPlaceListener implements Listener {
 
     @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
     public void onBlockPlace(BlockPlaceEvent event) {
+        long start = System.nanoTime();
+        try {
+            handlePlace(event);
+        } finally {
+            plugin.metrics().placeLatency().record(System.nanoTime() - start);
+        }
+    }
+
+    private void handlePlace(BlockPlaceEvent event) {
         ItemStack item = event.getItemInHand();
         if (!HeadUtils.isPluginHead(plugin, item)) {
             return;
@@ -44,6 +54,9 @@ public final class BlockPlaceListener implements Listener {
         if (state instanceof Skull skull) {
             HeadUtils.writeHeadData(plugin, skull.getPersistentDataContainer(), metadata.get());
             skull.update(true, false);
+            plugin.placedHeads().add(event.getBlockPlaced());
+            plugin.profileCache().prefetch(metadata.get().ownerUuid(), metadata.get().ownerName());
+            plugin.recordHeadEvent(HeadEvent.of(HeadEvent.Type.PLACE, metadata.get(), skull.getLocation()));
         }
     }
 }
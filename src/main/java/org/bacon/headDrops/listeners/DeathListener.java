@@ -8,13 +8,13 @@
 package org.bacon.headDrops.listeners;
 
 import java.time.Instant;
-import java.util.Arrays;
-import java.util.Locale;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.bacon.headDrops.HeadDrops;
+import org.bacon.headDrops.delivery.DeliveryMode;
+import org.bacon.headDrops.ledger.HeadEvent;
+import org.bacon.headDrops.settings.HeadDropsSettings;
+import org.bacon.headDrops.settings.KillerNames;
 import org.bacon.headDrops.utils.HeadUtils;
 import org.bacon.headDrops.utils.HeadUtils.HeadMetadata;
 import org.bukkit.entity.Entity;
@@ -26,6 +26,7 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.inventory.ItemStack;
 
 public final class DeathListener implements Listener {
 
@@ -37,16 +38,27 @@ public final class DeathListener implements Listener {
 
     @EventHandler(priority = EventPriority.HIGH)
     public void onPlayerDeath(PlayerDeathEvent event) {
+        long start = System.nanoTime();
+        try {
+            handleDeath(event);
+        } finally {
+            plugin.metrics().deathLatency().record(System.nanoTime() - start);
+        }
+    }
+
+    private void handleDeath(PlayerDeathEvent event) {
+        HeadDropsSettings settings = plugin.settings();
         Player victim = event.getEntity();
         Player killer = victim.getKiller();
-        if (plugin.requirePlayerKill() && killer == null) {
+        if (settings.requirePlayerKill() && killer == null) {
             return;
         }
 
-        double chance = plugin.dropChance();
+        double chance = settings.dropChance();
         if (chance <= 0.0) {
             return;
         }
+        plugin.metrics().dropRolled();
         if (chance < 100.0) {
             double roll = ThreadLocalRandom.current().nextDouble(100.0);
             if (roll >= chance) {
@@ -54,8 +66,12 @@ public final class DeathListener implements Listener {
             }
         }
 
+        if (killer != null && !plugin.dropThrottle().tryAcquire(killer.getUniqueId(), victim.getUniqueId())) {
+            return;
+        }
+
         Instant deathTime = Instant.now();
-        String killerName = determineKillerName(event).orElse(null);
+        String killerName = determineKillerName(event, killer, settings.killerNames());
         String serial = plugin.nextSerial().orElse(null);
 
         HeadMetadata metadata = new HeadMetadata(
@@ -66,29 +82,41 @@ public final class DeathListener implements Listener {
                 serial
         );
 
-        event.getDrops().add(HeadUtils.createHeadItem(plugin, metadata, victim.getPlayerProfile()));
+        ItemStack head = HeadUtils.createHeadItem(plugin, settings, metadata, victim.getPlayerProfile());
+        if (settings.deliveryMode() == DeliveryMode.INVENTORY && killer != null && !killer.equals(victim)
+                && plugin.delivery().available()) {
+            plugin.delivery().deliver(killer, metadata, head);
+        } else {
+            event.getDrops().add(head);
+        }
+        plugin.metrics().dropGranted();
+        plugin.leaderboards().recordDrop(victim.getUniqueId(), victim.getName(),
+                killer == null ? null : killer.getUniqueId(), killer == null ? null : killer.getName());
+        plugin.recordHeadEvent(HeadEvent.of(HeadEvent.Type.DROP, metadata, victim.getLocation()));
     }
 
-    private Optional<String> determineKillerName(PlayerDeathEvent event) {
-        Player directKiller = event.getEntity().getKiller();
-        if (directKiller != null) {
-            return Optional.of(directKiller.getName());
+    private String determineKillerName(PlayerDeathEvent event, Player killer, KillerNames names) {
+        if (killer != null) {
+            return killer.getName();
         }
 
         EntityDamageEvent lastDamage = event.getEntity().getLastDamageCause();
         if (lastDamage == null) {
-            return Optional.empty();
+            return null;
         }
 
         if (lastDamage instanceof EntityDamageByEntityEvent entityDamage) {
             Entity damager = resolveDamager(entityDamage.getDamager());
             if (damager instanceof Player player) {
-                return Optional.of(player.getName());
+                return player.getName();
             }
-            return Optional.ofNullable(prettyName(damager.getName()));
+            if (damager.customName() != null) {
+                return names.customName(damager.getName());
+            }
+            return names.entity(damager.getType());
         }
 
-        return Optional.ofNullable(prettyEnumName(lastDamage.getCause()));
+        return names.cause(lastDamage.getCause());
     }
 
     private Entity resolveDamager(Entity damager) {
@@ -100,32 +128,4 @@ public final class DeathListener implements Listener {
         }
         return damager;
     }
-
-    private String prettyName(String raw) {
-        if (raw == null || raw.isBlank()) {
-            return null;
-        }
-        return Arrays.stream(raw.split(" "))
-                .filter(part -> !part.isBlank())
-                .map(this::capitalise)
-                .collect(Collectors.joining(" "));
-    }
-
-    private String prettyEnumName(Enum<?> value) {
-        if (value == null) {
-            return null;
-        }
-        String spaced = value.name().toLowerCase(Locale.ROOT).replace('_', ' ');
-        return Arrays.stream(spaced.split(" "))
-                .filter(part -> !part.isBlank())
-                .map(this::capitalise)
-                .collect(Collectors.joining(" "));
-    }
-
-    private String capitalise(String part) {
-        if (part.isEmpty()) {
-            return part;
-        }
-        return Character.toUpperCase(part.charAt(0)) + part.substring(1).toLowerCase(Locale.ROOT);
-    }
 }
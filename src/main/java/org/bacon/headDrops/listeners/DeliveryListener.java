@@ -0,0 +1,37 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.listeners;
+
+import org.bacon.headDrops.HeadDrops;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+
+public final class DeliveryListener implements Listener {
+
+    private final HeadDrops plugin;
+
+    public DeliveryListener(HeadDrops plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        int waiting = plugin.delivery().waiting(player.getUniqueId());
+        if (waiting > 0) {
+            player.sendMessage(Component.text(waiting + (waiting == 1 ? " head is" : " heads are")
+                    + " waiting for you. Use /headdrops claim to collect them.", NamedTextColor.GRAY));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.listeners;
+
+import org.bacon.headDrops.HeadDrops;
+import org.bacon.headDrops.settings.HeadDropsSettings;
+import org.bacon.headDrops.utils.HeadUtils;
+import org.bukkit.Material;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+/*
+ * Brings heads rendered under older lore settings up to date when players actually handle them, so a
+ * template change costs work only for heads that are picked up or looked at. Broken placed heads are
+ * rebuilt from scratch by the break listeners anyway.
+ */
+public final class LoreRefreshListener implements Listener {
+
+    private final HeadDrops plugin;
+
+    public LoreRefreshListener(HeadDrops plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGH)
+    public void onPickup(EntityPickupItemEvent event) {
+        if (!(event.getEntity() instanceof Player)) {
+            return;
+        }
+        Item entity = event.getItem();
+        ItemStack stack = entity.getItemStack();
+        if (HeadUtils.refreshDisplay(plugin, plugin.settings(), stack)) {
+            entity.setItemStack(stack);
+        }
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGH)
+    public void onInventoryOpen(InventoryOpenEvent event) {
+        HeadDropsSettings settings = plugin.settings();
+        // The player's own inventory is shown under the container and is where most heads are kept.
+        refresh(event.getView().getTopInventory(), settings);
+        refresh(event.getView().getBottomInventory(), settings);
+    }
+
+    // Opening one's own inventory fires no event, so heads a player carries are also refreshed on join.
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        refresh(event.getPlayer().getInventory(), plugin.settings());
+    }
+
+    private void refresh(Inventory inventory, HeadDropsSettings settings) {
+        for (int slot = 0; slot < inventory.getSize(); slot++) {
+            ItemStack item = inventory.getItem(slot);
+            if (item != null && item.getType() == Material.PLAYER_HEAD && HeadUtils.refreshDisplay(plugin, settings, item)) {
+                inventory.setItem(slot, item);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.listeners;
+
+import org.bacon.headDrops.HeadDrops;
+import org.bacon.headDrops.profile.ProfileCache;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+
+public final class ProfileListener implements Listener {
+
+    private final HeadDrops plugin;
+
+    public ProfileListener(HeadDrops plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        ProfileCache cache = plugin.profileCache();
+        PlayerProfile profile = player.getPlayerProfile();
+        if (profile.hasTextures()) {
+            cache.put(profile);
+            plugin.headPrototypes().invalidate(player.getUniqueId());
+        } else {
+            cache.prefetch(player.getUniqueId(), player.getName());
+        }
+    }
+}
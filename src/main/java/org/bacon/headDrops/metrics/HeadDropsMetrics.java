@@ -0,0 +1,47 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public final class HeadDropsMetrics {
+
+    private final LatencyHistogram deathLatency = new LatencyHistogram();
+    private final LatencyHistogram placeLatency = new LatencyHistogram();
+    private final LatencyHistogram breakLatency = new LatencyHistogram();
+    private final LongAdder dropsRolled = new LongAdder();
+    private final LongAdder dropsGranted = new LongAdder();
+
+    public LatencyHistogram deathLatency() {
+        return deathLatency;
+    }
+
+    public LatencyHistogram placeLatency() {
+        return placeLatency;
+    }
+
+    public LatencyHistogram breakLatency() {
+        return breakLatency;
+    }
+
+    public void dropRolled() {
+        dropsRolled.increment();
+    }
+
+    public void dropGranted() {
+        dropsGranted.increment();
+    }
+
+    public long dropsRolled() {
+        return dropsRolled.sum();
+    }
+
+    public long dropsGranted() {
+        return dropsGranted.sum();
+    }
+}
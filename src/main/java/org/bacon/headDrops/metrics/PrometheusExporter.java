@@ -0,0 +1,141 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import org.bacon.headDrops.HeadDrops;
+import org.bacon.headDrops.audit.AuditFinding;
+import org.bacon.headDrops.audit.AuditMetrics;
+import org.bacon.headDrops.delivery.HeadDelivery;
+import org.bacon.headDrops.ledger.HeadLedger;
+import org.bacon.headDrops.profile.ProfileCache;
+import org.bacon.headDrops.throttle.DropThrottle;
+import org.bacon.headDrops.utils.AtomicFiles;
+import org.bacon.headDrops.utils.HeadPrototypeCache;
+
+/*
+ * Renders every counter the plugin keeps in the Prometheus text format, for a node exporter textfile
+ * collector or anything else that can read it from disk.
+ */
+public final class PrometheusExporter {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final HeadDrops plugin;
+
+    public PrometheusExporter(HeadDrops plugin) {
+        this.plugin = plugin;
+    }
+
+    public void writeTo(Path file) throws IOException {
+        AtomicFiles.write(file, render().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String render() {
+        StringBuilder out = new StringBuilder(4096);
+        HeadDropsMetrics metrics = plugin.metrics();
+
+        summary(out, "headdrops_listener_latency_seconds", "Time spent in HeadDrops event handlers.",
+                new String[]{"death", "place", "break"},
+                new LatencyHistogram[]{metrics.deathLatency(), metrics.placeLatency(), metrics.breakLatency()});
+
+        counter(out, "headdrops_drops_rolled_total", "Deaths that rolled for a head drop.", metrics.dropsRolled());
+        counter(out, "headdrops_drops_granted_total", "Head drops granted.", metrics.dropsGranted());
+        HeadDelivery delivery = plugin.delivery();
+        header(out, "headdrops_heads_delivered_total", "Heads handed to killers without dropping an item.", "counter");
+        out.append("headdrops_heads_delivered_total{to=\"inventory\"} ").append(delivery.delivered()).append('\n');
+        out.append("headdrops_heads_delivered_total{to=\"mailbox\"} ").append(delivery.mailboxed()).append('\n');
+        counter(out, "headdrops_heads_claimed_total", "Heads claimed from mailboxes.", delivery.claimed());
+        DropThrottle throttle = plugin.dropThrottle();
+        header(out, "headdrops_drops_throttled_total", "Head drops refused by the kill-farm throttle.", "counter");
+        out.append("headdrops_drops_throttled_total{limit=\"victim\"} ").append(throttle.pairThrottled()).append('\n');
+        out.append("headdrops_drops_throttled_total{limit=\"killer\"} ").append(throttle.killerThrottled()).append('\n');
+        gauge(out, "headdrops_throttle_buckets", "Throttle buckets currently tracked.", throttle.trackedBuckets());
+        counter(out, "headdrops_serials_issued_total", "Serial numbers handed out.", plugin.serialsIssued());
+        counter(out, "headdrops_serial_random_collisions_total", "Random serials redrawn because they were already issued.",
+                plugin.randomSerialCollisions());
+        counter(out, "headdrops_persistence_writes_total", "Files durably written by the plugin.", AtomicFiles.writes());
+
+        ProfileCache profiles = plugin.profileCache();
+        gauge(out, "headdrops_profile_cache_entries", "Completed profiles cached.", profiles.size());
+        counter(out, "headdrops_profile_cache_hits_total", "Profile cache hits.", profiles.hits());
+        counter(out, "headdrops_profile_cache_misses_total", "Profile cache misses.", profiles.misses());
+        counter(out, "headdrops_profile_cache_loads_total", "Profiles completed in the background.", profiles.loads());
+        counter(out, "headdrops_profile_cache_load_failures_total", "Profile completions that failed.", profiles.loadFailures());
+        HeadPrototypeCache prototypes = plugin.headPrototypes();
+        gauge(out, "headdrops_prototype_cache_entries", "Per-owner head prototypes cached.", prototypes.size());
+        counter(out, "headdrops_prototype_cache_hits_total", "Heads copied from a cached prototype.", prototypes.hits());
+        counter(out, "headdrops_prototype_cache_misses_total", "Heads built from scratch.", prototypes.misses());
+
+        HeadLedger ledger = plugin.ledger();
+        if (ledger != null) {
+            gauge(out, "headdrops_ledger_queued", "Ledger events waiting to be written.", ledger.queued());
+            counter(out, "headdrops_ledger_recorded_total", "Ledger events recorded.", ledger.recorded());
+            counter(out, "headdrops_ledger_written_total", "Ledger events written to the database.", ledger.written());
+            counter(out, "headdrops_ledger_dropped_total", "Ledger events dropped because the queue was full.", ledger.dropped());
+            counter(out, "headdrops_ledger_backpressure_total", "Ledger events recorded while the queue was nearly full.",
+                    ledger.backpressure());
+            counter(out, "headdrops_ledger_failed_batches_total", "Ledger batches that failed to commit.", ledger.failedBatches());
+        }
+
+        AuditMetrics audit = plugin.auditor().metrics();
+        counter(out, "headdrops_audit_passes_total", "Inventory audit passes started.", audit.passesStarted());
+        counter(out, "headdrops_audit_slots_scanned_total", "Inventory slots audited.", audit.slotsScanned());
+        counter(out, "headdrops_audit_seconds_total", "Time spent auditing inventories.", audit.nanosSpent() / 1e9);
+        header(out, "headdrops_audit_findings_total", "Suspicious heads found by inventory audits.", "counter");
+        for (AuditFinding finding : AuditFinding.values()) {
+            out.append("headdrops_audit_findings_total{finding=\"").append(finding.name().toLowerCase(Locale.ROOT))
+                    .append("\"} ").append(audit.findings(finding)).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static void summary(StringBuilder out, String name, String help, String[] listeners, LatencyHistogram[] histograms) {
+        header(out, name, help, "summary");
+        for (int i = 0; i < listeners.length; i++) {
+            LatencyHistogram.Snapshot snapshot = histograms[i].snapshot();
+            String label = "listener=\"" + listeners[i] + "\"";
+            for (double quantile : QUANTILES) {
+                out.append(name).append('{').append(label).append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(snapshot.percentile(quantile))).append('\n');
+            }
+            out.append(name).append("_sum{").append(label).append("} ").append(seconds(snapshot.sum())).append('\n');
+            out.append(name).append("_count{").append(label).append("} ").append(snapshot.count()).append('\n');
+        }
+    }
+
+    private static void counter(StringBuilder out, String name, String help, double value) {
+        header(out, name, help, "counter");
+        out.append(name).append(' ').append(format(value)).append('\n');
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, double value) {
+        header(out, name, help, "gauge");
+        out.append(name).append(' ').append(format(value)).append('\n');
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return format(nanos / 1e9);
+    }
+
+    private static String format(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.profile;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+
+/*
+ * Bounded LRU of player profiles that carry their texture properties, keyed by owner UUID.
+ * Misses are answered with whatever profile the caller already had while a completed one is fetched
+ * in the background, so head creation never blocks on a profile lookup.
+ */
+public final class ProfileCache {
+
+    @FunctionalInterface
+    public interface ProfileResolver {
+
+        // Called off-thread; may block. Returns null when no textured profile could be resolved.
+        PlayerProfile resolve(UUID ownerId, String ownerName);
+    }
+
+    private final ProfileResolver resolver;
+    private final Executor executor;
+    private final LongSupplier clock;
+    private final Map<UUID, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+
+    private volatile int maxEntries;
+    private volatile long expireAfterNanos;
+
+    public ProfileCache(ProfileResolver resolver, Executor executor, LongSupplier clock, int maxEntries, long expireAfterMillis) {
+        this.resolver = Objects.requireNonNull(resolver, "resolver");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.clock = Objects.requireNonNull(clock, "clock");
+        configure(maxEntries, expireAfterMillis);
+    }
+
+    public void configure(int maxEntries, long expireAfterMillis) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.expireAfterNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, expireAfterMillis));
+        synchronized (entries) {
+            trim();
+        }
+    }
+
+    public PlayerProfile resolve(UUID ownerId, String ownerName, PlayerProfile fallback) {
+        PlayerProfile cached = get(ownerId);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        if (fallback != null && fallback.hasTextures() && ownerId.equals(fallback.getId())) {
+            put(fallback);
+        } else {
+            prefetch(ownerId, ownerName);
+        }
+        return fallback;
+    }
+
+    public void put(PlayerProfile profile) {
+        if (profile == null || profile.getId() == null || !profile.hasTextures()) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(profile.getId(), new Entry(profile, clock.getAsLong()));
+            trim();
+        }
+    }
+
+    public void prefetch(UUID ownerId, String ownerName) {
+        if (ownerId == null || get(ownerId) != null || !inFlight.add(ownerId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> load(ownerId, ownerName));
+        } catch (RuntimeException ex) {
+            inFlight.remove(ownerId);
+            throw ex;
+        }
+    }
+
+    public void invalidate(UUID ownerId) {
+        synchronized (entries) {
+            entries.remove(ownerId);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long loads() {
+        return loads.sum();
+    }
+
+    public long loadFailures() {
+        return loadFailures.sum();
+    }
+
+    private PlayerProfile get(UUID ownerId) {
+        long now = clock.getAsLong();
+        synchronized (entries) {
+            Entry entry = entries.get(ownerId);
+            if (entry == null) {
+                return null;
+            }
+            if (now - entry.loadedAt() > expireAfterNanos) {
+                entries.remove(ownerId);
+                return null;
+            }
+            return entry.profile();
+        }
+    }
+
+    private void load(UUID ownerId, String ownerName) {
+        try {
+            PlayerProfile profile = resolver.resolve(ownerId, ownerName);
+            if (profile != null && profile.hasTextures()) {
+                loads.increment();
+                put(profile);
+            } else {
+                loadFailures.increment();
+            }
+        } catch (RuntimeException ex) {
+            loadFailures.increment();
+        } finally {
+            inFlight.remove(ownerId);
+        }
+    }
+
+    private void trim() {
+        int limit = maxEntries;
+        var iterator = entries.entrySet().iterator();
+        while (entries.size() > limit && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record Entry(PlayerProfile profile, long loadedAt) {
+    }
+}
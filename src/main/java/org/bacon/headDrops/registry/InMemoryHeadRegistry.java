@@ -0,0 +1,157 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.registry;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bacon.headDrops.api.HeadRecord;
+import org.bacon.headDrops.api.HeadRegistry;
+import org.bacon.headDrops.ledger.HeadEvent;
+import org.bacon.headDrops.ledger.HeadLedger;
+import org.bacon.headDrops.utils.HeadUtils.HeadMetadata;
+
+/*
+ * Registry fed by the same head events that go to the ledger, and by the ledger itself once at startup.
+ * Writes take the registry lock, which only head drops, places and breaks ever contend on; reads go
+ * straight to the concurrent indexes. An event older than what is already known for its serial is
+ * ignored, so replaying the ledger while live events arrive settles on the newest state.
+ */
+public final class InMemoryHeadRegistry implements HeadRegistry {
+
+    private final LongRecordMap incremental = new LongRecordMap();
+    private final Map<String, HeadRecord> otherSerials = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<String, HeadRecord>> owners = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, HeadRecord>> killers = new ConcurrentHashMap<>();
+    private final HeadLedger ledger;
+    private volatile boolean ready;
+
+    public InMemoryHeadRegistry(HeadLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    public synchronized void apply(HeadEvent event) {
+        HeadMetadata head = event.head();
+        String serial = head.serial();
+        if (serial == null || serial.isBlank()) {
+            return;
+        }
+
+        HeadRecord existing = lookup(serial);
+        if (existing != null && existing.lastSeenMillis() > event.eventTime()) {
+            return;
+        }
+
+        HeadRecord record = new HeadRecord(
+                serial,
+                head.ownerUuid(),
+                head.ownerName(),
+                head.killerName(),
+                head.timestamp(),
+                state(event.type()),
+                event.world(),
+                event.x(),
+                event.y(),
+                event.z(),
+                event.eventTime()
+        );
+
+        long number = incrementalKey(serial);
+        if (number >= 0L) {
+            incremental.put(number, record);
+        } else {
+            otherSerials.put(serial, record);
+        }
+        owners.computeIfAbsent(head.ownerUuid(), id -> new ConcurrentHashMap<>()).put(serial, record);
+        if (head.killerName() != null) {
+            killers.computeIfAbsent(killerKey(head.killerName()), name -> new ConcurrentHashMap<>()).put(serial, record);
+        }
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    @Override
+    public Optional<HeadRecord> bySerial(String serial) {
+        if (serial == null || serial.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(lookup(serial));
+    }
+
+    @Override
+    public List<HeadRecord> byOwner(UUID ownerUuid) {
+        Map<String, HeadRecord> heads = ownerUuid == null ? null : owners.get(ownerUuid);
+        return heads == null ? List.of() : List.copyOf(heads.values());
+    }
+
+    @Override
+    public List<HeadRecord> byKiller(String killerName) {
+        Map<String, HeadRecord> heads = killerName == null ? null : killers.get(killerKey(killerName));
+        return heads == null ? List.of() : List.copyOf(heads.values());
+    }
+
+    @Override
+    public int size() {
+        return incremental.size() + otherSerials.size();
+    }
+
+    @Override
+    public boolean ready() {
+        return ready;
+    }
+
+    @Override
+    public boolean persistent() {
+        return ledger.isRunning();
+    }
+
+    @Override
+    public long droppedEvents() {
+        return ledger.dropped();
+    }
+
+    private HeadRecord lookup(String serial) {
+        long number = incrementalKey(serial);
+        return number >= 0L ? incremental.get(number) : otherSerials.get(serial);
+    }
+
+    private static HeadRecord.State state(HeadEvent.Type type) {
+        return switch (type) {
+            case DROP -> HeadRecord.State.DROPPED;
+            case PLACE -> HeadRecord.State.PLACED;
+            case BREAK -> HeadRecord.State.BROKEN;
+        };
+    }
+
+    private static String killerKey(String killerName) {
+        return killerName.toLowerCase(Locale.ROOT);
+    }
+
+    // Canonical decimal serials ("1", "42", not "042") live in the primitive map; anything else is a string key.
+    private static long incrementalKey(String serial) {
+        int length = serial.length();
+        if (length > 18 || (length > 1 && serial.charAt(0) == '0')) {
+            return -1L;
+        }
+        long value = 0L;
+        for (int i = 0; i < length; i++) {
+            char c = serial.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1L;
+            }
+            value = value * 10L + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.registry;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.bacon.headDrops.api.HeadRecord;
+
+/*
+ * Open-addressing map from a primitive long to a record, for incremental serials. Slots hold immutable
+ * nodes, so readers probe without locks and see either the old or the new node; writers serialise on the
+ * map and publish a grown table through a volatile field. Entries are replaced but never removed.
+ */
+final class LongRecordMap {
+
+    private record Node(long key, HeadRecord value) {
+    }
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private volatile AtomicReferenceArray<Node> table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+    private int size;
+
+    HeadRecord get(long key) {
+        AtomicReferenceArray<Node> current = table;
+        int mask = current.length() - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            Node node = current.get(slot);
+            if (node == null) {
+                return null;
+            }
+            if (node.key() == key) {
+                return node.value();
+            }
+        }
+    }
+
+    synchronized HeadRecord put(long key, HeadRecord value) {
+        if ((size + 1) * 2 > table.length()) {
+            table = grow(table);
+        }
+        HeadRecord previous = insert(table, new Node(key, value));
+        if (previous == null) {
+            size++;
+        }
+        return previous;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private static HeadRecord insert(AtomicReferenceArray<Node> target, Node node) {
+        int mask = target.length() - 1;
+        for (int slot = mix(node.key()) & mask; ; slot = (slot + 1) & mask) {
+            Node existing = target.get(slot);
+            if (existing == null || existing.key() == node.key()) {
+                target.set(slot, node);
+                return existing == null ? null : existing.value();
+            }
+        }
+    }
+
+    private static AtomicReferenceArray<Node> grow(AtomicReferenceArray<Node> current) {
+        AtomicReferenceArray<Node> grown = new AtomicReferenceArray<>(current.length() * 2);
+        for (int i = 0; i < current.length(); i++) {
+            Node node = current.get(i);
+            if (node != null) {
+                insert(grown, node);
+            }
+        }
+        return grown;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
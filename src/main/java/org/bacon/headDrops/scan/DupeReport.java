@@ -0,0 +1,153 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.scan;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class DupeReport {
+
+    public record Duplicate(String serial, int count, List<String> locations) {
+    }
+
+    // Locations kept per serial; the count keeps going past it.
+    private static final int MAX_LOCATIONS = 16;
+
+    private final ConcurrentHashMap<String, Sightings> serials = new ConcurrentHashMap<>();
+    private final LongAdder files = new LongAdder();
+    private final LongAdder chunks = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final List<String> problems = new ArrayList<>();
+    private volatile Duration elapsed = Duration.ZERO;
+
+    void record(String serial, String location) {
+        serials.computeIfAbsent(serial, key -> new Sightings()).add(location);
+    }
+
+    void fileScanned(long size) {
+        files.increment();
+        bytes.add(size);
+    }
+
+    void chunkScanned() {
+        chunks.increment();
+    }
+
+    void problem(String message) {
+        failures.increment();
+        synchronized (problems) {
+            if (problems.size() < MAX_LOCATIONS * 4) {
+                problems.add(message);
+            }
+        }
+    }
+
+    void finish(Duration elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    public List<Duplicate> duplicates() {
+        List<Duplicate> duplicates = new ArrayList<>();
+        for (Map.Entry<String, Sightings> entry : serials.entrySet()) {
+            Sightings sightings = entry.getValue();
+            synchronized (sightings) {
+                if (sightings.count > 1) {
+                    duplicates.add(new Duplicate(entry.getKey(), sightings.count, List.copyOf(sightings.locations)));
+                }
+            }
+        }
+        duplicates.sort(Comparator.comparingInt(Duplicate::count).reversed().thenComparing(Duplicate::serial));
+        return duplicates;
+    }
+
+    public long serialsSeen() {
+        return serials.size();
+    }
+
+    public long filesScanned() {
+        return files.sum();
+    }
+
+    public long chunksScanned() {
+        return chunks.sum();
+    }
+
+    public long failures() {
+        return failures.sum();
+    }
+
+    public long bytesScanned() {
+        return bytes.sum();
+    }
+
+    public Duration elapsed() {
+        return elapsed;
+    }
+
+    public List<String> problems() {
+        synchronized (problems) {
+            return List.copyOf(problems);
+        }
+    }
+
+    public String summary() {
+        return "Scanned " + filesScanned() + " files (" + (bytesScanned() >> 20) + " MiB, " + chunksScanned()
+                + " chunks) in " + elapsed().toMillis() + " ms: " + serialsSeen() + " serials, "
+                + duplicates().size() + " duplicated, " + failures() + " unreadable entries";
+    }
+
+    public void writeTo(Writer writer) throws IOException {
+        writer.write(summary());
+        writer.write(System.lineSeparator());
+        for (Duplicate duplicate : duplicates()) {
+            writer.write(System.lineSeparator());
+            writer.write("Serial " + duplicate.serial() + " found " + duplicate.count() + " times:");
+            writer.write(System.lineSeparator());
+            for (String location : duplicate.locations()) {
+                writer.write("  " + location);
+                writer.write(System.lineSeparator());
+            }
+            if (duplicate.count() > duplicate.locations().size()) {
+                writer.write("  ... and " + (duplicate.count() - duplicate.locations().size()) + " more");
+                writer.write(System.lineSeparator());
+            }
+        }
+        List<String> problems = problems();
+        if (!problems.isEmpty()) {
+            writer.write(System.lineSeparator());
+            writer.write("Unreadable entries:");
+            writer.write(System.lineSeparator());
+            for (String problem : problems) {
+                writer.write("  " + problem);
+                writer.write(System.lineSeparator());
+            }
+        }
+        writer.flush();
+    }
+
+    private static final class Sightings {
+
+        private int count;
+        private final List<String> locations = new ArrayList<>(2);
+
+        synchronized void add(String location) {
+            count++;
+            if (locations.size() < MAX_LOCATIONS) {
+                locations.add(location);
+            }
+        }
+    }
+}
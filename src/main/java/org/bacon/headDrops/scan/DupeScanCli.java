@@ -0,0 +1,88 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.scan;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Jar entry point for scanning a stopped server's world folder:
+ *   java -jar HeadDrops.jar <world-folder> [--threads N] [--output report.txt]
+ */
+public final class DupeScanCli {
+
+    private static final long PROGRESS_INTERVAL_NANOS = 1_000_000_000L;
+
+    private DupeScanCli() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path world = null;
+        Path output = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads" -> threads = Integer.parseInt(requireValue(args, ++i));
+                case "--output" -> output = Path.of(requireValue(args, ++i));
+                default -> {
+                    if (world != null) {
+                        usage();
+                        return;
+                    }
+                    world = Path.of(args[i]);
+                }
+            }
+        }
+        if (world == null) {
+            usage();
+            return;
+        }
+
+        AtomicLong lastPrint = new AtomicLong(System.nanoTime());
+        DupeScanner scanner = new DupeScanner(threads, progress -> {
+            long now = System.nanoTime();
+            long last = lastPrint.get();
+            if ((now - last >= PROGRESS_INTERVAL_NANOS || progress.filesDone() == progress.filesTotal())
+                    && lastPrint.compareAndSet(last, now)) {
+                System.err.printf("%d/%d files, %.1f%%%n", progress.filesDone(), progress.filesTotal(),
+                        progress.fraction() * 100.0D);
+            }
+        });
+
+        DupeReport report = scanner.scan(world);
+        if (output != null) {
+            try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                report.writeTo(writer);
+            }
+            System.err.println(report.summary());
+            System.err.println("Report written to " + output);
+        } else {
+            report.writeTo(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        }
+        if (!report.duplicates().isEmpty()) {
+            System.exit(2);
+        }
+    }
+
+    private static String requireValue(String[] args, int index) throws IOException {
+        if (index >= args.length) {
+            throw new IOException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static void usage() {
+        System.err.println("Usage: java -jar HeadDrops.jar <world-folder> [--threads N] [--output report.txt]");
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.scan;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/*
+ * Offline scan of a world folder for head serials that exist more than once. Region files are memory
+ * mapped and every chunk is decompressed and streamed straight through NbtSerialScanner, so the heap
+ * only ever holds the serials seen so far. Files are spread over a ForkJoinPool, one task per file.
+ */
+public final class DupeScanner {
+
+    public record Progress(long filesDone, long filesTotal, long bytesDone, long bytesTotal) {
+
+        public double fraction() {
+            return bytesTotal == 0L ? 1.0D : (double) bytesDone / bytesTotal;
+        }
+    }
+
+    private static final int SECTOR_BYTES = 4096;
+    private static final int REGION_CHUNKS = 1024;
+    private static final int BUFFER_BYTES = 8192;
+
+    private static final int COMPRESSION_GZIP = 1;
+    private static final int COMPRESSION_ZLIB = 2;
+    private static final int COMPRESSION_NONE = 3;
+    private static final int COMPRESSION_LZ4 = 4;
+    private static final int COMPRESSION_EXTERNAL = 0x80;
+
+    private final int parallelism;
+    private final Consumer<Progress> progress;
+
+    public DupeScanner(int parallelism, Consumer<Progress> progress) {
+        this.parallelism = Math.max(1, parallelism);
+        this.progress = progress;
+    }
+
+    public static List<Path> findFiles(Path worldFolder) throws IOException {
+        try (Stream<Path> paths = Files.walk(worldFolder, 3)) {
+            return paths.filter(Files::isRegularFile).filter(DupeScanner::isScannable).sorted().toList();
+        }
+    }
+
+    private static boolean isScannable(Path file) {
+        Path parent = file.getParent();
+        if (parent == null) {
+            return false;
+        }
+        String directory = parent.getFileName().toString();
+        String name = file.getFileName().toString();
+        return switch (directory) {
+            case "region", "entities" -> name.endsWith(".mca");
+            case "playerdata" -> name.endsWith(".dat");
+            default -> false;
+        };
+    }
+
+    public DupeReport scan(Path worldFolder) throws IOException, InterruptedException {
+        if (!Files.isDirectory(worldFolder)) {
+            throw new IOException("Not a world folder: " + worldFolder);
+        }
+        List<Path> files = findFiles(worldFolder);
+        long totalBytes = 0L;
+        for (Path file : files) {
+            totalBytes += Files.size(file);
+        }
+
+        DupeReport report = new DupeReport();
+        AtomicLong filesDone = new AtomicLong();
+        AtomicLong bytesDone = new AtomicLong();
+        long filesTotal = files.size();
+        long bytesTotal = totalBytes;
+        long started = System.nanoTime();
+
+        List<Callable<Void>> tasks = new ArrayList<>(files.size());
+        for (Path file : files) {
+            tasks.add(() -> {
+                long size = scanFile(worldFolder, file, report);
+                report.fileScanned(size);
+                long done = filesDone.incrementAndGet();
+                long doneBytes = bytesDone.addAndGet(size);
+                if (progress != null) {
+                    progress.accept(new Progress(done, filesTotal, doneBytes, bytesTotal));
+                }
+                return null;
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    report.problem(String.valueOf(ex.getCause()));
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        report.finish(Duration.ofNanos(System.nanoTime() - started));
+        return report;
+    }
+
+    private long scanFile(Path worldFolder, Path file, DupeReport report) {
+        String name = worldFolder.relativize(file).toString();
+        try {
+            if (file.getFileName().toString().endsWith(".mca")) {
+                return scanRegion(file, name, report);
+            }
+            long size = Files.size(file);
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(file), BUFFER_BYTES)) {
+                scanNbt(in, name, report);
+            }
+            return size;
+        } catch (IOException | RuntimeException ex) {
+            report.problem(name + ": " + ex);
+            return sizeOf(file);
+        }
+    }
+
+    private long scanRegion(Path file, String name, DupeReport report) throws IOException {
+        int[] region = parseRegionCoordinates(file.getFileName().toString());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < SECTOR_BYTES * 2L) {
+                return size;
+            }
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+            for (int index = 0; index < REGION_CHUNKS; index++) {
+                int entry = map.getInt(index * 4);
+                int sectorOffset = entry >>> 8;
+                if (sectorOffset == 0 || (entry & 0xFF) == 0) {
+                    continue;
+                }
+
+                int chunkX = region[0] * 32 + (index & 31);
+                int chunkZ = region[1] * 32 + (index >> 5);
+                String chunkName = name + " chunk " + chunkX + "," + chunkZ;
+                try {
+                    scanChunk(file, map, (long) sectorOffset * SECTOR_BYTES, chunkX, chunkZ, chunkName, report);
+                    report.chunkScanned();
+                } catch (IOException | RuntimeException ex) {
+                    report.problem(chunkName + ": " + ex);
+                }
+            }
+            return size;
+        }
+    }
+
+    private void scanChunk(Path file, MappedByteBuffer map, long start, int chunkX, int chunkZ, String name,
+                           DupeReport report) throws IOException {
+        if (start + 5L > map.capacity()) {
+            throw new IOException("chunk offset outside the file");
+        }
+        int length = map.getInt((int) start);
+        int compression = map.get((int) start + 4) & 0xFF;
+
+        InputStream raw;
+        if ((compression & COMPRESSION_EXTERNAL) != 0) {
+            Path external = file.resolveSibling("c." + chunkX + "." + chunkZ + ".mcc");
+            raw = Files.newInputStream(external);
+            compression &= ~COMPRESSION_EXTERNAL;
+        } else {
+            if (length <= 1 || start + 4L + length > map.capacity()) {
+                throw new IOException("chunk length " + length + " outside the file");
+            }
+            raw = new ByteBufferInputStream(map.slice((int) start + 5, length - 1));
+        }
+
+        Inflater inflater = null;
+        try (InputStream closing = raw) {
+            InputStream in = switch (compression) {
+                case COMPRESSION_GZIP -> new GZIPInputStream(closing, BUFFER_BYTES);
+                case COMPRESSION_ZLIB -> new InflaterInputStream(closing, inflater = new Inflater(), BUFFER_BYTES);
+                case COMPRESSION_NONE -> closing;
+                case COMPRESSION_LZ4 -> throw new IOException("LZ4 chunk compression is not supported");
+                default -> throw new IOException("unknown chunk compression " + compression);
+            };
+            scanNbt(in, name, report);
+        } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+
+    private static void scanNbt(InputStream in, String name, DupeReport report) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, BUFFER_BYTES));
+        new NbtSerialScanner(data, (serial, path) -> report.record(serial, name + " " + path)).scan();
+    }
+
+    private static int[] parseRegionCoordinates(String fileName) throws IOException {
+        String[] parts = fileName.split("\\.");
+        if (parts.length != 4) {
+            throw new IOException("unexpected region file name " + fileName);
+        }
+        try {
+            return new int[]{Integer.parseInt(parts[1]), Integer.parseInt(parts[2])};
+        } catch (NumberFormatException ex) {
+            throw new IOException("unexpected region file name " + fileName, ex);
+        }
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException ex) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.scan;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.bacon.headDrops.utils.HeadDataCodec;
+
+/*
+ * Walks an NBT stream tag by tag without building a tree. Payloads are skipped unless they sit in a
+ * PublicBukkitValues compound under one of our keys, which is where Bukkit keeps the PDC of both items
+ * (inside minecraft:custom_data) and block entities. Only the path to the current tag is kept, so a
+ * hit can be located without holding anything else in memory.
+ */
+final class NbtSerialScanner {
+
+    interface SerialSink {
+
+        void accept(String serial, String path);
+    }
+
+    private static final int TAG_END = 0;
+    private static final int TAG_BYTE = 1;
+    private static final int TAG_SHORT = 2;
+    private static final int TAG_INT = 3;
+    private static final int TAG_LONG = 4;
+    private static final int TAG_FLOAT = 5;
+    private static final int TAG_DOUBLE = 6;
+    private static final int TAG_BYTE_ARRAY = 7;
+    private static final int TAG_STRING = 8;
+    private static final int TAG_LIST = 9;
+    private static final int TAG_COMPOUND = 10;
+    private static final int TAG_INT_ARRAY = 11;
+    private static final int TAG_LONG_ARRAY = 12;
+
+    private static final int MAX_DEPTH = 512;
+
+    private static final byte[] BUKKIT_VALUES = "PublicBukkitValues".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] HEAD_DATA = "headdrops:head_data".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] HEAD_SERIAL = "headdrops:head_serial".getBytes(StandardCharsets.UTF_8);
+
+    private final DataInputStream in;
+    private final SerialSink sink;
+
+    private byte[] name = new byte[64];
+    private int nameLength;
+
+    private final String[] pathNames = new String[MAX_DEPTH];
+    private final int[] pathIndices = new int[MAX_DEPTH];
+    private int pathDepth;
+
+    NbtSerialScanner(DataInputStream in, SerialSink sink) {
+        this.in = in;
+        this.sink = sink;
+    }
+
+    void scan() throws IOException {
+        int type = in.readUnsignedByte();
+        if (type == TAG_END) {
+            return;
+        }
+        skip(in.readUnsignedShort());
+        readPayload(type, 0);
+    }
+
+    private void readPayload(int type, int depth) throws IOException {
+        if (depth >= MAX_DEPTH) {
+            throw new IOException("NBT nested deeper than " + MAX_DEPTH);
+        }
+        switch (type) {
+            case TAG_BYTE -> skip(1);
+            case TAG_SHORT -> skip(2);
+            case TAG_INT, TAG_FLOAT -> skip(4);
+            case TAG_LONG, TAG_DOUBLE -> skip(8);
+            case TAG_BYTE_ARRAY -> skip(length());
+            case TAG_STRING -> skip(in.readUnsignedShort());
+            case TAG_LIST -> readList(depth);
+            case TAG_COMPOUND -> readCompound(depth);
+            case TAG_INT_ARRAY -> skip(length() * 4L);
+            case TAG_LONG_ARRAY -> skip(length() * 8L);
+            default -> throw new IOException("Unknown NBT tag type " + type);
+        }
+    }
+
+    private void readCompound(int depth) throws IOException {
+        while (true) {
+            int type = in.readUnsignedByte();
+            if (type == TAG_END) {
+                return;
+            }
+            readName();
+            if (type == TAG_COMPOUND && nameEquals(BUKKIT_VALUES)) {
+                readBukkitValues(depth + 1);
+            } else if (type == TAG_COMPOUND || type == TAG_LIST) {
+                push(new String(name, 0, nameLength, StandardCharsets.UTF_8), -1);
+                readPayload(type, depth + 1);
+                pop();
+            } else {
+                readPayload(type, depth + 1);
+            }
+        }
+    }
+
+    private void readList(int depth) throws IOException {
+        int elementType = in.readUnsignedByte();
+        int length = in.readInt();
+        if (length <= 0) {
+            return;
+        }
+        switch (elementType) {
+            case TAG_END -> {
+            }
+            case TAG_BYTE -> skip(length);
+            case TAG_SHORT -> skip(length * 2L);
+            case TAG_INT, TAG_FLOAT -> skip(length * 4L);
+            case TAG_LONG, TAG_DOUBLE -> skip(length * 8L);
+            case TAG_COMPOUND, TAG_LIST -> {
+                for (int i = 0; i < length; i++) {
+                    push(null, i);
+                    readPayload(elementType, depth + 1);
+                    pop();
+                }
+            }
+            default -> {
+                for (int i = 0; i < length; i++) {
+                    readPayload(elementType, depth + 1);
+                }
+            }
+        }
+    }
+
+    private void readBukkitValues(int depth) throws IOException {
+        String data = null;
+        String legacy = null;
+        while (true) {
+            int type = in.readUnsignedByte();
+            if (type == TAG_END) {
+                break;
+            }
+            readName();
+            if (type == TAG_BYTE_ARRAY && nameEquals(HEAD_DATA)) {
+                byte[] bytes = in.readNBytes(length());
+                try {
+                    data = HeadDataCodec.decodeSerial(bytes);
+                } catch (IllegalArgumentException ex) {
+                    data = null;
+                }
+            } else if (type == TAG_STRING && nameEquals(HEAD_SERIAL)) {
+                legacy = in.readUTF();
+            } else {
+                readPayload(type, depth + 1);
+            }
+        }
+
+        String serial = data != null ? data : legacy;
+        if (serial != null && !serial.isBlank()) {
+            sink.accept(serial, path());
+        }
+    }
+
+    private void readName() throws IOException {
+        nameLength = in.readUnsignedShort();
+        if (nameLength > name.length) {
+            name = new byte[Math.max(nameLength, name.length * 2)];
+        }
+        in.readFully(name, 0, nameLength);
+    }
+
+    private boolean nameEquals(byte[] expected) {
+        if (nameLength != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < nameLength; i++) {
+            if (name[i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int length() throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Negative NBT array length " + length);
+        }
+        return length;
+    }
+
+    private void skip(long count) throws IOException {
+        in.skipNBytes(count);
+    }
+
+    private void push(String segment, int index) {
+        pathNames[pathDepth] = segment;
+        pathIndices[pathDepth] = index;
+        pathDepth++;
+    }
+
+    private void pop() {
+        pathDepth--;
+        pathNames[pathDepth] = null;
+    }
+
+    private String path() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < pathDepth; i++) {
+            String segment = pathNames[i];
+            if (segment == null) {
+                builder.append('[').append(pathIndices[i]).append(']');
+            } else {
+                if (!builder.isEmpty()) {
+                    builder.append('.');
+                }
+                builder.append(segment);
+            }
+        }
+        return builder.toString();
+    }
+}
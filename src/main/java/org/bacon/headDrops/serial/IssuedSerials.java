@@ -0,0 +1,127 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.serial;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import org.bacon.headDrops.utils.AtomicFiles;
+
+/*
+ * Every random serial handed out so far, as a chain of Bloom filter generations. When the newest
+ * generation reaches its expected size a fresh one is started. A lookup checks every generation, so
+ * their false-positive rates add up; each generation is therefore built for half the rate of the one
+ * before, starting at half the configured rate, which keeps the sum under the configured value no matter
+ * how many serials are issued.
+ */
+final class IssuedSerials {
+
+    private static final int MAGIC = 0x48444246;
+    private static final int VERSION = 1;
+
+    private final List<SerialBloomFilter> generations = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    private volatile long expectedInsertions;
+    private volatile double falsePositiveRate;
+
+    IssuedSerials(long expectedInsertions, double falsePositiveRate) {
+        configure(expectedInsertions, falsePositiveRate);
+    }
+
+    void configure(long expectedInsertions, double falsePositiveRate) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    boolean mightContain(String serial) {
+        for (SerialBloomFilter generation : generations) {
+            if (generation.mightContain(serial)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void add(String serial) {
+        current().put(serial);
+        dirty.set(true);
+    }
+
+    void load(Path file, Logger logger) {
+        generations.clear();
+        dirty.set(false);
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                logger.warning("Ignoring unrecognised serial filter file " + file);
+                return;
+            }
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                generations.add(SerialBloomFilter.readFrom(buffer));
+            }
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException ex) {
+            generations.clear();
+            logger.warning("Failed to load issued serial filter, starting empty: " + ex.getMessage());
+        }
+    }
+
+    void save(Path file, Logger logger) {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        List<SerialBloomFilter> snapshot = List.copyOf(generations);
+        int size = Integer.BYTES * 3;
+        for (SerialBloomFilter generation : snapshot) {
+            size += generation.serializedSize();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(snapshot.size());
+        for (SerialBloomFilter generation : snapshot) {
+            generation.writeTo(buffer);
+        }
+        try {
+            AtomicFiles.write(file, buffer.array());
+        } catch (IOException ex) {
+            dirty.set(true);
+            logger.warning("Failed to save issued serial filter: " + ex.getMessage());
+        }
+    }
+
+    private SerialBloomFilter current() {
+        int size = generations.size();
+        if (size > 0) {
+            SerialBloomFilter newest = generations.get(size - 1);
+            if (!newest.isFull()) {
+                return newest;
+            }
+        }
+        synchronized (generations) {
+            size = generations.size();
+            if (size > 0 && !generations.get(size - 1).isFull()) {
+                return generations.get(size - 1);
+            }
+            SerialBloomFilter created = SerialBloomFilter.create(expectedInsertions, Math.scalb(falsePositiveRate, -(size + 1)));
+            generations.add(created);
+            return created;
+        }
+    }
+}
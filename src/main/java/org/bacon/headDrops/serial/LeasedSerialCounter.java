@@ -0,0 +1,129 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.serial;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+final class LeasedSerialCounter implements SerialCounter {
+
+    private final SharedCounterFile file;
+    private final int blockSize;
+    private final SerialPersister persister;
+    private final Logger logger;
+
+    private volatile Lease lease = Lease.EMPTY;
+    private volatile long highWater;
+    private volatile boolean closed;
+
+    private LeasedSerialCounter(SharedCounterFile file, int blockSize, long highWater, File dataFile, Logger logger) {
+        this.file = file;
+        this.blockSize = blockSize;
+        this.highWater = highWater;
+        this.persister = new SerialPersister(dataFile.toPath(), logger);
+        this.logger = logger;
+        persister.reset(LocalSerialCounter.readStoredValue(dataFile));
+    }
+
+    // The shared mark is mirrored into the local data file, so turning the shared counter off later
+    // resumes above every value this host has leased instead of from a stale local value.
+    static LeasedSerialCounter open(Path path, int blockSize, long minimumHighWater, File dataFile, Logger logger)
+            throws IOException {
+        SharedCounterFile file = SharedCounterFile.open(path, minimumHighWater);
+        try {
+            return new LeasedSerialCounter(file, Math.max(1, blockSize), file.highWater(), dataFile, logger);
+        } catch (IOException ex) {
+            file.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public long next() {
+        while (true) {
+            Lease current = lease;
+            long value = current.next.getAndIncrement();
+            if (value <= current.last) {
+                return value;
+            }
+            renew(current);
+        }
+    }
+
+    // Includes blocks leased by the other servers sharing the file, not just this one's.
+    @Override
+    public long current() {
+        return Math.max(highWater, file.peekHighWater());
+    }
+
+    private synchronized void renew(Lease exhausted) {
+        if (lease != exhausted) {
+            return;
+        }
+        if (closed) {
+            throw new IllegalStateException("Serial counter is closed");
+        }
+        try {
+            long first = file.reserve(blockSize);
+            long last = first + blockSize - 1;
+            highWater = last;
+            lease = new Lease(first, last);
+            persister.submit(last);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to lease serial block from " + file.path(), ex);
+        }
+    }
+
+    @Override
+    public synchronized void save() {
+        if (!closed) {
+            persister.flush(sharedHighWater());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        persister.flush(sharedHighWater());
+        closed = true;
+        persister.close();
+        try {
+            file.close();
+        } catch (IOException ex) {
+            logger.warning("Failed to close shared serial counter: " + ex.getMessage());
+        }
+    }
+
+    private long sharedHighWater() {
+        try {
+            return Math.max(highWater, file.highWater());
+        } catch (IOException ex) {
+            logger.warning("Failed to read shared serial counter: " + ex.getMessage());
+            return highWater;
+        }
+    }
+
+    private static final class Lease {
+
+        private static final Lease EMPTY = new Lease(1L, 0L);
+
+        private final AtomicLong next;
+        private final long last;
+
+        private Lease(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
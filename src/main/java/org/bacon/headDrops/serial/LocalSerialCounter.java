@@ -0,0 +1,75 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.serial;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+final class LocalSerialCounter implements SerialCounter {
+
+    // Far enough below zero that racing increments after close can never climb back to a valid value.
+    private static final long CLOSED = Long.MIN_VALUE / 2;
+
+    private final AtomicLong counter = new AtomicLong();
+    private final SerialPersister persister;
+
+    private volatile long closedAt;
+
+    LocalSerialCounter(File dataFile, Logger logger, long minimum) {
+        this.persister = new SerialPersister(dataFile.toPath(), logger);
+        long stored = readStoredValue(dataFile);
+        counter.set(Math.max(stored, minimum));
+        persister.reset(stored);
+    }
+
+    static long readStoredValue(File dataFile) {
+        if (!dataFile.exists()) {
+            return 0L;
+        }
+        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(dataFile);
+        return yaml.getLong("last-value", 0L);
+    }
+
+    @Override
+    public long next() {
+        long value = counter.incrementAndGet();
+        if (value <= 0L) {
+            throw new IllegalStateException("Serial counter is closed");
+        }
+        persister.submit(value);
+        return value;
+    }
+
+    @Override
+    public long current() {
+        long value = counter.get();
+        return value >= 0L ? value : closedAt;
+    }
+
+    @Override
+    public void save() {
+        persister.flush(current());
+    }
+
+    @Override
+    public void close() {
+        long last;
+        do {
+            last = counter.get();
+            if (last < 0L) {
+                return;
+            }
+            closedAt = last;
+        } while (!counter.compareAndSet(last, CLOSED));
+        persister.close();
+        save();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.serial;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Crockford base32 serials drawn from ThreadLocalRandom, so concurrent regions never share a generator.
+final class RandomSerialGenerator {
+
+    static final int MIN_LENGTH = 6;
+    static final int MAX_LENGTH = 32;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int BITS_PER_CHAR = 5;
+    private static final int CHARS_PER_LONG = Long.SIZE / BITS_PER_CHAR;
+
+    private final int length;
+
+    RandomSerialGenerator(int length) {
+        this.length = Math.max(MIN_LENGTH, Math.min(MAX_LENGTH, length));
+    }
+
+    String next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] serial = new char[length];
+        long bits = 0L;
+        int available = 0;
+        for (int i = 0; i < length; i++) {
+            if (available == 0) {
+                bits = random.nextLong();
+                available = CHARS_PER_LONG;
+            }
+            serial[i] = ALPHABET[(int) (bits & 0x1F)];
+            bits >>>= BITS_PER_CHAR;
+            available--;
+        }
+        return new String(serial);
+    }
+
+    int length() {
+        return length;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.serial;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock-free Bloom filter over serial strings; bits are set with CAS so region threads never block.
+final class SerialBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final long capacity;
+    private final AtomicLong inserted;
+
+    private SerialBloomFilter(long[] words, int hashCount, long capacity, long inserted) {
+        this.words = new AtomicLongArray(words);
+        this.bitCount = (long) words.length * Long.SIZE;
+        this.hashCount = hashCount;
+        this.capacity = capacity;
+        this.inserted = new AtomicLong(inserted);
+    }
+
+    static SerialBloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long capacity = Math.max(1L, expectedInsertions);
+        double rate = Math.min(0.5, Math.max(1e-12, falsePositiveRate));
+        long bits = (long) Math.ceil(-capacity * Math.log(rate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1L, (bits + Long.SIZE - 1) / Long.SIZE));
+        long actualBits = (long) wordCount * Long.SIZE;
+        int hashes = (int) Math.max(1L, Math.round((double) actualBits / capacity * Math.log(2)));
+        return new SerialBloomFilter(new long[wordCount], Math.min(hashes, 30), capacity, 0L);
+    }
+
+    boolean mightContain(String serial) {
+        long hash1 = hash(serial);
+        long hash2 = mix(hash1 + 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean put(String serial) {
+        long hash1 = hash(serial);
+        long hash2 = mix(hash1 + 0x9E3779B97F4A7C15L) | 1L;
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long previous = words.getAndAccumulate(index, mask, (current, value) -> current | value);
+            changed |= (previous & mask) == 0;
+        }
+        if (changed) {
+            inserted.incrementAndGet();
+        }
+        return changed;
+    }
+
+    boolean isFull() {
+        return inserted.get() >= capacity;
+    }
+
+    int serializedSize() {
+        return Integer.BYTES + Long.BYTES * 2 + Integer.BYTES + words.length() * Long.BYTES;
+    }
+
+    void writeTo(ByteBuffer buffer) {
+        buffer.putInt(hashCount);
+        buffer.putLong(capacity);
+        buffer.putLong(inserted.get());
+        buffer.putInt(words.length());
+        for (int i = 0; i < words.length(); i++) {
+            buffer.putLong(words.get(i));
+        }
+    }
+
+    static SerialBloomFilter readFrom(ByteBuffer buffer) {
+        int hashCount = buffer.getInt();
+        long capacity = buffer.getLong();
+        long inserted = buffer.getLong();
+        int wordCount = buffer.getInt();
+        if (hashCount <= 0 || capacity <= 0 || wordCount <= 0 || wordCount > buffer.remaining() / Long.BYTES) {
+            throw new IllegalArgumentException("Corrupt serial filter");
+        }
+        long[] words = new long[wordCount];
+        buffer.asLongBuffer().get(words);
+        buffer.position(buffer.position() + wordCount * Long.BYTES);
+        return new SerialBloomFilter(words, hashCount, capacity, inserted);
+    }
+
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.serial;
+
+public interface SerialCounter {
+
+    // Throws IllegalStateException once closed, so a caller still holding a replaced counter cannot
+    // hand out a value its successor will also issue.
+    long next();
+
+    long current();
+
+    void save();
+
+    void close();
+}
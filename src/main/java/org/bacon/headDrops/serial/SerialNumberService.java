@@ -9,14 +9,15 @@ package org.bacon.headDrops.serial;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Logger;
 
 import org.bacon.headDrops.HeadDrops;
-import org.bukkit.configuration.file.YamlConfiguration;
 
 public final class SerialNumberService {
 
@@ -36,71 +37,213 @@ public final class SerialNumberService {
         }
     }
 
-    private final HeadDrops plugin;
-    private final AtomicLong counter = new AtomicLong();
+    public record SharedCounterSettings(boolean enabled, Path file, int blockSize) {
+
+        public static final SharedCounterSettings DISABLED = new SharedCounterSettings(false, null, 1);
+    }
+
+    public record RandomSerialSettings(int length, long expectedSerials, double falsePositiveRate) {
+
+        public static final RandomSerialSettings DEFAULT = new RandomSerialSettings(12, 100_000L, 0.000001);
+    }
+
+    private record Config(boolean enabled, SerialMode mode, SharedCounterSettings sharedCounter, RandomSerialGenerator generator) {
+
+        private static final Config DEFAULT = new Config(
+                true,
+                SerialMode.RANDOM,
+                SharedCounterSettings.DISABLED,
+                new RandomSerialGenerator(RandomSerialSettings.DEFAULT.length())
+        );
+    }
+
+    private static final int MAX_RANDOM_ATTEMPTS = 16;
+
     private final File dataFile;
+    private final Path issuedFile;
+    private final Logger logger;
+    private final IssuedSerials issued = new IssuedSerials(
+            RandomSerialSettings.DEFAULT.expectedSerials(),
+            RandomSerialSettings.DEFAULT.falsePositiveRate()
+    );
+    private final LongAdder randomCollisions = new LongAdder();
+    private final LongAdder serialsIssued = new LongAdder();
 
-    private SerialMode mode = SerialMode.RANDOM;
-    private boolean enabled = true;
+    private volatile Config config = Config.DEFAULT;
+    private volatile SerialCounter counter;
+    private SharedCounterSettings openedWith;
 
     public SerialNumberService(HeadDrops plugin) {
-        this.plugin = plugin;
-        this.dataFile = new File(plugin.getDataFolder(), "serial-data.yml");
+        this(plugin.getDataFolder(), plugin.getLogger());
+    }
+
+    SerialNumberService(File dataFolder, Logger logger) {
+        this.dataFile = new File(dataFolder, "serial-data.yml");
+        this.issuedFile = dataFolder.toPath().resolve("serial-bloom.dat");
+        this.logger = logger;
     }
 
-    public void load() {
+    // The closed counter stays published until its replacement is, so a drawing thread that hits it
+    // waits on this lock in nextIncremental and then retries on the replacement.
+    public synchronized void load() {
+        SerialCounter previous = counter;
+        long minimum = 0L;
+        if (previous != null) {
+            previous.close();
+            minimum = previous.current();
+        }
         ensureParentExists();
-        if (!dataFile.exists()) {
-            counter.set(0L);
-            return;
+        counter = open(config.sharedCounter(), minimum);
+        if (previous == null) {
+            issued.load(issuedFile, logger);
         }
+    }
 
-        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(dataFile);
-        long stored = yaml.getLong("last-value", 0L);
-        counter.set(stored);
+    public synchronized void save() {
+        SerialCounter current = counter;
+        if (current != null) {
+            current.save();
+        }
+        issued.save(issuedFile, logger);
     }
 
-    public void save() {
-        persistValue(counter.get());
+    public synchronized void close() {
+        SerialCounter current = counter;
+        counter = null;
+        if (current != null) {
+            current.close();
+        }
+        issued.save(issuedFile, logger);
     }
 
-    public void configure(boolean enabled, SerialMode mode) {
-        this.enabled = enabled;
-        if (mode != null) {
-            this.mode = mode;
+    public void configure(boolean enabled, SerialMode mode, SharedCounterSettings sharedCounter, RandomSerialSettings random) {
+        Config previous = config;
+        SharedCounterSettings shared = sharedCounter == null ? SharedCounterSettings.DISABLED : sharedCounter;
+        RandomSerialSettings randomSettings = random == null ? RandomSerialSettings.DEFAULT : random;
+        issued.configure(randomSettings.expectedSerials(), randomSettings.falsePositiveRate());
+        config = new Config(
+                enabled,
+                mode == null ? previous.mode() : mode,
+                shared,
+                new RandomSerialGenerator(randomSettings.length())
+        );
+
+        synchronized (this) {
+            if (counter != null && !Objects.equals(openedWith, shared)) {
+                load();
+            }
         }
     }
 
     public Optional<String> nextSerial() {
-        if (!enabled) {
+        Config current = config;
+        if (!current.enabled()) {
             return Optional.empty();
         }
 
-        return Optional.of(mode == SerialMode.INCREMENTAL ? nextIncremental() : nextRandom());
+        Optional<String> serial = current.mode() == SerialMode.INCREMENTAL
+                ? nextIncremental()
+                : Optional.of(nextRandom(current.generator()));
+        if (serial.isPresent()) {
+            serialsIssued.increment();
+        }
+        return serial;
     }
 
-    private String nextIncremental() {
-        long value = counter.incrementAndGet();
-        persistValue(value);
-        return Long.toString(value);
+    // True for any serial this server could have handed out: a random one remembered by the issued filter
+    // (which can rarely answer yes for a stranger) or a number no higher than the counter has reached,
+    // counting values leased by other servers sharing the counter.
+    public boolean wasIssued(String serial) {
+        if (serial == null || serial.isEmpty()) {
+            return false;
+        }
+        if (issued.mightContain(serial)) {
+            return true;
+        }
+        SerialCounter current = counter;
+        if (current == null) {
+            return false;
+        }
+        long value = parseIncremental(serial);
+        return value > 0L && value <= current.current();
     }
 
-    private String nextRandom() {
-        return UUID.randomUUID().toString().replace("-", "").toUpperCase(Locale.ROOT);
+    public long serialsIssued() {
+        return serialsIssued.sum();
     }
 
-    private void persistValue(long value) {
-        if (!ensureParentExists()) {
-            return;
+    public long randomCollisions() {
+        return randomCollisions.sum();
+    }
+
+    private SerialCounter open(SharedCounterSettings shared, long minimum) {
+        openedWith = shared;
+        if (!shared.enabled()) {
+            return new LocalSerialCounter(dataFile, logger, minimum);
         }
-        YamlConfiguration yaml = new YamlConfiguration();
-        yaml.set("last-value", value);
+
+        long seed = Math.max(minimum, LocalSerialCounter.readStoredValue(dataFile));
         try {
-            yaml.save(dataFile);
+            return LeasedSerialCounter.open(shared.file(), shared.blockSize(), seed, dataFile, logger);
         } catch (IOException ex) {
-            Logger logger = plugin.getLogger();
-            logger.warning("Failed to save serial counter: " + ex.getMessage());
+            logger.severe("Failed to open shared serial counter '" + shared.file()
+                    + "'. Incremental serials are unavailable until this is fixed: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private Optional<String> nextIncremental() {
+        SerialCounter current = counter;
+        while (current != null) {
+            try {
+                return Optional.of(Long.toString(current.next()));
+            } catch (IllegalStateException ex) {
+                // Closed by load() under us; the replacement resumes after it, so ask that one instead.
+                SerialCounter replacement;
+                synchronized (this) {
+                    replacement = counter;
+                }
+                current = replacement == current ? null : replacement;
+            } catch (UncheckedIOException ex) {
+                logger.severe(ex.getMessage() + ": " + ex.getCause().getMessage());
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    // A hit in the issued filter may be a false positive, so after MAX_RANDOM_ATTEMPTS collisions the
+    // last candidate is issued anyway rather than dropping the head without a serial.
+    private String nextRandom(RandomSerialGenerator generator) {
+        String candidate = generator.next();
+        boolean collided = issued.mightContain(candidate);
+        for (int attempts = 1; collided && attempts < MAX_RANDOM_ATTEMPTS; attempts++) {
+            randomCollisions.increment();
+            candidate = generator.next();
+            collided = issued.mightContain(candidate);
+        }
+        if (collided) {
+            randomCollisions.increment();
+            logger.warning("Issued random serial " + candidate + " after " + MAX_RANDOM_ATTEMPTS
+                    + " collisions with issued ones; consider a longer serial.random.length.");
+        }
+        issued.add(candidate);
+        return candidate;
+    }
+
+    private static long parseIncremental(String serial) {
+        if (serial.length() > 18) {
+            return -1L;
+        }
+        long value = 0L;
+        for (int i = 0; i < serial.length(); i++) {
+            char c = serial.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1L;
+            }
+            value = value * 10L + (c - '0');
         }
+        return value;
     }
 
     private boolean ensureParentExists() {
@@ -0,0 +1,119 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.serial;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import org.bacon.headDrops.utils.AtomicFiles;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/*
+ * Write-behind store for the incremental counter. Callers only publish the value they issued; the
+ * writer thread coalesces everything published since its last run and writes the highest value once,
+ * so region threads never touch the disk and a slow write can never overwrite a newer one.
+ */
+final class SerialPersister {
+
+    private static final long NOTHING_PENDING = Long.MIN_VALUE;
+
+    private final Path target;
+    private final Logger logger;
+    private final AtomicLong pending = new AtomicLong(NOTHING_PENDING);
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Object writeLock = new Object();
+    private final ExecutorService executor;
+
+    private long written = NOTHING_PENDING;
+
+    SerialPersister(Path target, Logger logger) {
+        this.target = target;
+        this.logger = logger;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "HeadDrops Serial Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    void submit(long value) {
+        pending.accumulateAndGet(value, Math::max);
+        if (!scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException ex) {
+            scheduled.set(false);
+            writePending();
+        }
+    }
+
+    void flush(long value) {
+        pending.accumulateAndGet(value, Math::max);
+        writePending();
+    }
+
+    void flush() {
+        writePending();
+    }
+
+    void reset(long value) {
+        synchronized (writeLock) {
+            pending.set(NOTHING_PENDING);
+            written = value;
+        }
+    }
+
+    void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warning("Serial writer did not stop in time; flushing on the calling thread.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        writePending();
+    }
+
+    private void drain() {
+        scheduled.set(false);
+        writePending();
+    }
+
+    private void writePending() {
+        synchronized (writeLock) {
+            long value = pending.getAndSet(NOTHING_PENDING);
+            if (value == NOTHING_PENDING || value <= written) {
+                return;
+            }
+            try {
+                AtomicFiles.write(target, encode(value));
+                written = value;
+            } catch (IOException ex) {
+                pending.accumulateAndGet(value, Math::max);
+                logger.warning("Failed to save serial counter: " + ex.getMessage());
+            }
+        }
+    }
+
+    private byte[] encode(long value) {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("last-value", value);
+        return yaml.saveToString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.serial;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/*
+ * Counter file shared by every server on the host. Layout: magic, format version, then the lease
+ * high-water mark, i.e. the highest serial any process has been allowed to hand out. The mark is
+ * forced to disk before a lease is used, so a crash can only leave gaps, never reissue a value.
+ */
+final class SharedCounterFile implements Closeable {
+
+    private static final int MAGIC = 0x48445343;
+    private static final int VERSION = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int HIGH_WATER_OFFSET = 8;
+    private static final int SIZE = 16;
+
+    // File locks are held per JVM, so instances in one process must also agree among themselves.
+    private static final ConcurrentMap<Path, Object> PROCESS_LOCKS = new ConcurrentHashMap<>();
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Object processLock;
+
+    private SharedCounterFile(Path path, FileChannel channel, MappedByteBuffer buffer, Object processLock) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.processLock = processLock;
+    }
+
+    static SharedCounterFile open(Path path, long minimumHighWater) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        Object processLock = PROCESS_LOCKS.computeIfAbsent(path.toRealPath(), key -> new Object());
+        try {
+            MappedByteBuffer buffer;
+            synchronized (processLock) {
+                FileLock lock = channel.lock(0, SIZE, false);
+                try {
+                    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, SIZE);
+                    initialise(path, buffer, minimumHighWater);
+                } finally {
+                    lock.release();
+                }
+            }
+            return new SharedCounterFile(path, channel, buffer, processLock);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    private static void initialise(Path path, MappedByteBuffer buffer, long minimumHighWater) throws IOException {
+        int magic = buffer.getInt(MAGIC_OFFSET);
+        if (magic == 0) {
+            buffer.putInt(VERSION_OFFSET, VERSION);
+            buffer.putLong(HIGH_WATER_OFFSET, Math.max(0L, minimumHighWater));
+            buffer.putInt(MAGIC_OFFSET, MAGIC);
+            buffer.force();
+        } else if (magic != MAGIC) {
+            throw new IOException("Not a HeadDrops counter file: " + path);
+        } else if (buffer.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException("Unsupported counter file version " + buffer.getInt(VERSION_OFFSET) + " in " + path);
+        } else if (buffer.getLong(HIGH_WATER_OFFSET) < minimumHighWater) {
+            buffer.putLong(HIGH_WATER_OFFSET, minimumHighWater);
+            buffer.force();
+        }
+    }
+
+    long reserve(int count) throws IOException {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        synchronized (processLock) {
+            try (FileLock ignored = channel.lock(0, SIZE, false)) {
+                long highWater = buffer.getLong(HIGH_WATER_OFFSET);
+                long leased = Math.addExact(highWater, count);
+                buffer.putLong(HIGH_WATER_OFFSET, leased);
+                buffer.force();
+                return highWater + 1;
+            }
+        }
+    }
+
+    long highWater() throws IOException {
+        synchronized (processLock) {
+            try (FileLock ignored = channel.lock(0, SIZE, true)) {
+                return buffer.getLong(HIGH_WATER_OFFSET);
+            }
+        }
+    }
+
+    // Unlocked read for hot paths that only need a recent value; the mark never moves backwards.
+    long peekHighWater() {
+        return buffer.getLong(HIGH_WATER_OFFSET);
+    }
+
+    Path path() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (processLock) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.settings;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.bacon.headDrops.delivery.DeliveryMode;
+import org.bacon.headDrops.serial.SerialNumberService.RandomSerialSettings;
+import org.bacon.headDrops.serial.SerialNumberService.SerialMode;
+import org.bacon.headDrops.serial.SerialNumberService.SharedCounterSettings;
+import org.bacon.headDrops.throttle.RateLimit;
+import org.bacon.headDrops.utils.LoreTemplate;
+import org.bacon.headDrops.utils.TimeUtils;
+import org.bacon.headDrops.utils.TimestampRenderer;
+import org.bukkit.configuration.file.FileConfiguration;
+
+/*
+ * Everything read from config.yml, built in one go and never modified afterwards. The plugin publishes
+ * a new instance through a single volatile field, so a handler that reads it once sees one consistent config.
+ */
+public final class HeadDropsSettings {
+
+    private static final String DEFAULT_TITLE_TEMPLATE = "&6%player%'s Head";
+    private static final String DEFAULT_TIMESTAMP_TEMPLATE = "&7Killed on: &f%timestamp%";
+    private static final String DEFAULT_KILLER_TEMPLATE = "&7Killer: &f%killer%";
+    private static final String DEFAULT_KILLER_UNKNOWN = "Unknown";
+    private static final String DEFAULT_TIMESTAMP_PATTERN = "yyyy-MM-dd HH:mm:ss";
+    private static final String DEFAULT_SERIAL_TEMPLATE = "&7Serial: &f%serial%";
+    private static final String DEFAULT_SERIAL_UNKNOWN = "N/A";
+    private static final String DEFAULT_SHARED_COUNTER_FILE = "serial-counter.dat";
+    private static final int DEFAULT_SHARED_COUNTER_BLOCK = 100;
+    private static final int DEFAULT_PROFILE_CACHE_SIZE = 500;
+    private static final long DEFAULT_PROFILE_CACHE_MINUTES = 60L;
+    private static final int DEFAULT_PROTOTYPE_CACHE_SIZE = 200;
+    private static final long DEFAULT_PROTOTYPE_CACHE_MINUTES = 30L;
+    private static final int DEFAULT_LEDGER_QUEUE_CAPACITY = 10_000;
+    private static final int DEFAULT_LEDGER_BATCH_SIZE = 500;
+    private static final long DEFAULT_AUDIT_BUDGET_MICROS = 200L;
+    private static final String DEFAULT_PROMETHEUS_FILE = "metrics.prom";
+    private static final long DEFAULT_PROMETHEUS_INTERVAL_SECONDS = 30L;
+
+    private final boolean requirePlayerKill;
+    private final double dropChance;
+    private final DeliveryMode deliveryMode;
+    private final ZoneId timestampZone;
+    private final TimestampRenderer timestampRenderer;
+    private final LoreTemplate titleTemplate;
+    private final LoreTemplate timestampTemplate;
+    private final LoreTemplate killerTemplate;
+    private final String killerUnknown;
+    private final KillerNames killerNames;
+    private final LoreTemplate serialTemplate;
+    private final String serialUnknown;
+    private final boolean serialEnabled;
+    private final boolean serialVisible;
+    private final SerialMode serialMode;
+    private final SharedCounterSettings sharedCounter;
+    private final RandomSerialSettings randomSerial;
+    private final int profileCacheSize;
+    private final long profileCacheExpireMillis;
+    private final int prototypeCacheSize;
+    private final long prototypeCacheExpireMillis;
+    private final boolean ledgerEnabled;
+    private final int ledgerQueueCapacity;
+    private final int ledgerBatchSize;
+    private final boolean auditOnJoin;
+    private final boolean auditOnContainerOpen;
+    private final long auditBudgetNanos;
+    private final boolean auditUnknownSerials;
+    private final int renderVersion;
+    private final RateLimit pairThrottle;
+    private final RateLimit killerThrottle;
+    private final boolean prometheusEnabled;
+    private final Path prometheusFile;
+    private final long prometheusIntervalSeconds;
+
+    private HeadDropsSettings(FileConfiguration config, File dataFolder, Logger logger) {
+        requirePlayerKill = config.getBoolean("drop.require-player-kill", true);
+        dropChance = clampPercentage(config.getDouble("drop.drop-chance", 100.0));
+        String deliveryName = config.getString("drop.delivery", "drop");
+        deliveryMode = DeliveryMode.fromConfig(deliveryName).orElseGet(() -> {
+            logger.warning("Unknown drop.delivery '" + deliveryName + "', using 'drop'.");
+            return DeliveryMode.DROP;
+        });
+
+        String requestedZone = config.getString("lore.timezone");
+        timestampZone = TimeUtils.resolveZoneId(requestedZone, logger);
+        timestampRenderer = TimeUtils.buildRenderer(
+                config.getString("lore.timestamp-format"),
+                timestampZone,
+                DEFAULT_TIMESTAMP_PATTERN,
+                logger
+        );
+
+        titleTemplate = compileTemplate(config, "lore.title", DEFAULT_TITLE_TEMPLATE, logger);
+        timestampTemplate = compileTemplate(config, "lore.timestamp-line", DEFAULT_TIMESTAMP_TEMPLATE, logger);
+        killerTemplate = compileTemplate(config, "lore.killer-line", DEFAULT_KILLER_TEMPLATE, logger);
+        killerUnknown = nonNullOrDefault(config.getString("lore.killer-unknown"), DEFAULT_KILLER_UNKNOWN);
+        killerNames = KillerNames.load(config, logger);
+
+        serialUnknown = nonNullOrDefault(config.getString("lore.serial-unknown"), DEFAULT_SERIAL_UNKNOWN);
+        serialVisible = config.getBoolean("serial.visible", true);
+        serialTemplate = serialVisible
+                ? compileTemplate(config, "lore.serial-line", DEFAULT_SERIAL_TEMPLATE, logger)
+                : LoreTemplate.EMPTY;
+
+        serialEnabled = config.getBoolean("serial.enabled", true);
+        String modeName = config.getString("serial.mode", "random");
+        serialMode = SerialMode.fromConfig(modeName).orElse(SerialMode.RANDOM);
+        sharedCounter = readSharedCounterSettings(config, dataFolder);
+        randomSerial = readRandomSerialSettings(config);
+
+        profileCacheSize = Math.max(1, config.getInt("profile-cache.max-entries", DEFAULT_PROFILE_CACHE_SIZE));
+        profileCacheExpireMillis = TimeUnit.MINUTES.toMillis(
+                Math.max(1L, config.getLong("profile-cache.expire-after-minutes", DEFAULT_PROFILE_CACHE_MINUTES)));
+        prototypeCacheSize = Math.max(0, config.getInt("prototype-cache.max-entries", DEFAULT_PROTOTYPE_CACHE_SIZE));
+        prototypeCacheExpireMillis = TimeUnit.MINUTES.toMillis(
+                Math.max(1L, config.getLong("prototype-cache.expire-after-minutes", DEFAULT_PROTOTYPE_CACHE_MINUTES)));
+
+        renderVersion = renderVersion(
+                nonNullOrDefault(config.getString("lore.title"), DEFAULT_TITLE_TEMPLATE),
+                nonNullOrDefault(config.getString("lore.timestamp-line"), DEFAULT_TIMESTAMP_TEMPLATE),
+                nonNullOrDefault(config.getString("lore.killer-line"), DEFAULT_KILLER_TEMPLATE),
+                serialVisible ? nonNullOrDefault(config.getString("lore.serial-line"), DEFAULT_SERIAL_TEMPLATE) : "",
+                killerUnknown,
+                serialUnknown,
+                Boolean.toString(serialEnabled && serialVisible),
+                timestampRenderer.pattern(),
+                timestampZone.getId()
+        );
+
+        boolean throttleEnabled = config.getBoolean("throttle.enabled", false);
+        pairThrottle = readRateLimit(config, "throttle.per-victim", throttleEnabled, 12L, 3);
+        killerThrottle = readRateLimit(config, "throttle.per-killer", throttleEnabled, 120L, 20);
+
+        ledgerEnabled = config.getBoolean("ledger.enabled", true);
+        ledgerQueueCapacity = Math.max(1, config.getInt("ledger.queue-capacity", DEFAULT_LEDGER_QUEUE_CAPACITY));
+        ledgerBatchSize = Math.max(1, config.getInt("ledger.batch-size", DEFAULT_LEDGER_BATCH_SIZE));
+
+        boolean auditEnabled = config.getBoolean("audit.enabled", true);
+        auditOnJoin = auditEnabled && config.getBoolean("audit.on-join", true);
+        auditOnContainerOpen = auditEnabled && config.getBoolean("audit.on-container-open", true);
+        auditBudgetNanos = TimeUnit.MICROSECONDS.toNanos(
+                Math.max(1L, config.getLong("audit.budget-micros-per-tick", DEFAULT_AUDIT_BUDGET_MICROS)));
+        auditUnknownSerials = config.getBoolean("audit.flag-unknown-serials", false);
+
+        prometheusEnabled = config.getBoolean("metrics.prometheus-file.enabled", false);
+        Path metricsFile = Path.of(nonNullOrDefault(config.getString("metrics.prometheus-file.path"), DEFAULT_PROMETHEUS_FILE));
+        prometheusFile = metricsFile.isAbsolute() ? metricsFile : dataFolder.toPath().resolve(metricsFile);
+        prometheusIntervalSeconds = Math.max(1L,
+                config.getLong("metrics.prometheus-file.interval-seconds", DEFAULT_PROMETHEUS_INTERVAL_SECONDS));
+    }
+
+    public static HeadDropsSettings load(FileConfiguration config, File dataFolder, Logger logger) {
+        return new HeadDropsSettings(config, dataFolder, logger);
+    }
+
+    // FNV-1a over everything that shows up in a head's name and lore; never 0 so 0 can mean "unknown".
+    private static int renderVersion(String... inputs) {
+        int hash = 0x811C9DC5;
+        for (String input : inputs) {
+            for (int i = 0; i < input.length(); i++) {
+                hash = (hash ^ input.charAt(i)) * 0x01000193;
+            }
+            hash = (hash ^ 0xFFFF) * 0x01000193;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static RateLimit readRateLimit(FileConfiguration config, String path, boolean enabled,
+                                           long defaultPerHour, int defaultBurst) {
+        long perHour = config.getLong(path + ".drops-per-hour", defaultPerHour);
+        int burst = Math.max(1, config.getInt(path + ".burst", defaultBurst));
+        if (!enabled || perHour <= 0L) {
+            return RateLimit.UNLIMITED;
+        }
+        return new RateLimit(true, perHour, burst);
+    }
+
+    private static SharedCounterSettings readSharedCounterSettings(FileConfiguration config, File dataFolder) {
+        if (!config.getBoolean("serial.shared-counter.enabled", false)) {
+            return SharedCounterSettings.DISABLED;
+        }
+        String fileName = nonNullOrDefault(config.getString("serial.shared-counter.file"), DEFAULT_SHARED_COUNTER_FILE);
+        Path file = Path.of(fileName);
+        if (!file.isAbsolute()) {
+            file = dataFolder.toPath().resolve(file);
+        }
+        int blockSize = Math.max(1, config.getInt("serial.shared-counter.block-size", DEFAULT_SHARED_COUNTER_BLOCK));
+        return new SharedCounterSettings(true, file, blockSize);
+    }
+
+    private static RandomSerialSettings readRandomSerialSettings(FileConfiguration config) {
+        RandomSerialSettings defaults = RandomSerialSettings.DEFAULT;
+        int length = config.getInt("serial.random.length", defaults.length());
+        long expected = Math.max(1L, config.getLong("serial.random.expected-serials", defaults.expectedSerials()));
+        double rate = config.getDouble("serial.random.false-positive-rate", defaults.falsePositiveRate());
+        if (Double.isNaN(rate) || rate <= 0.0 || rate >= 1.0) {
+            rate = defaults.falsePositiveRate();
+        }
+        return new RandomSerialSettings(length, expected, rate);
+    }
+
+    private static LoreTemplate compileTemplate(FileConfiguration config, String path, String fallback, Logger logger) {
+        String source = nonNullOrDefault(config.getString(path), fallback);
+        return LoreTemplate.compile(source, problem -> logger.warning("Invalid '" + path + "': " + problem));
+    }
+
+    private static String nonNullOrDefault(String value, String fallback) {
+        return Objects.requireNonNullElse(value, fallback);
+    }
+
+    private static double clampPercentage(double value) {
+        if (Double.isNaN(value)) {
+            return 100.0;
+        }
+        return Math.max(0.0, Math.min(100.0, value));
+    }
+
+    public boolean requirePlayerKill() {
+        return requirePlayerKill;
+    }
+
+    public double dropChance() {
+        return dropChance;
+    }
+
+    public DeliveryMode deliveryMode() {
+        return deliveryMode;
+    }
+
+    public LoreTemplate titleTemplate() {
+        return titleTemplate;
+    }
+
+    public LoreTemplate timestampTemplate() {
+        return timestampTemplate;
+    }
+
+    public LoreTemplate killerTemplate() {
+        return killerTemplate;
+    }
+
+    public String killerUnknown() {
+        return killerUnknown;
+    }
+
+    public KillerNames killerNames() {
+        return killerNames;
+    }
+
+    public LoreTemplate serialTemplate() {
+        return serialTemplate;
+    }
+
+    public String serialUnknown() {
+        return serialUnknown;
+    }
+
+    public boolean serialEnabled() {
+        return serialEnabled;
+    }
+
+    public boolean serialVisible() {
+        return serialVisible;
+    }
+
+    public SerialMode serialMode() {
+        return serialMode;
+    }
+
+    public SharedCounterSettings sharedCounter() {
+        return sharedCounter;
+    }
+
+    public RandomSerialSettings randomSerial() {
+        return randomSerial;
+    }
+
+    public int profileCacheSize() {
+        return profileCacheSize;
+    }
+
+    public long profileCacheExpireMillis() {
+        return profileCacheExpireMillis;
+    }
+
+    public boolean ledgerEnabled() {
+        return ledgerEnabled;
+    }
+
+    public int ledgerQueueCapacity() {
+        return ledgerQueueCapacity;
+    }
+
+    public int ledgerBatchSize() {
+        return ledgerBatchSize;
+    }
+
+    public boolean auditOnJoin() {
+        return auditOnJoin;
+    }
+
+    public boolean auditOnContainerOpen() {
+        return auditOnContainerOpen;
+    }
+
+    public long auditBudgetNanos() {
+        return auditBudgetNanos;
+    }
+
+    public boolean auditUnknownSerials() {
+        return auditUnknownSerials;
+    }
+
+    public int prototypeCacheSize() {
+        return prototypeCacheSize;
+    }
+
+    public long prototypeCacheExpireMillis() {
+        return prototypeCacheExpireMillis;
+    }
+
+    public int renderVersion() {
+        return renderVersion;
+    }
+
+    public RateLimit pairThrottle() {
+        return pairThrottle;
+    }
+
+    public RateLimit killerThrottle() {
+        return killerThrottle;
+    }
+
+    public boolean prometheusEnabled() {
+        return prometheusEnabled;
+    }
+
+    public Path prometheusFile() {
+        return prometheusFile;
+    }
+
+    public long prometheusIntervalSeconds() {
+        return prometheusIntervalSeconds;
+    }
+
+    public String formatTimestamp(Instant instant) {
+        return timestampRenderer.format(instant);
+    }
+
+    public ZoneId timestampZone() {
+        return timestampZone;
+    }
+
+    public DateTimeFormatter timestampFormatter() {
+        return timestampRenderer.formatter();
+    }
+
+    public TimestampRenderer timestampRenderer() {
+        return timestampRenderer;
+    }
+}
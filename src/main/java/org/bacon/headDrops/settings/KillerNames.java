@@ -0,0 +1,114 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.settings;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Logger;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+
+/*
+ * Display names for killers that are not players. Enum names are prettified once per settings load and
+ * may be overridden from config; custom entity names go through a small direct-mapped cache so a repeat
+ * lookup is a hash and an equals check.
+ */
+public final class KillerNames {
+
+    private static final int CUSTOM_NAME_SLOTS = 256;
+
+    private record CustomName(String raw, String display) {
+    }
+
+    private final Map<DamageCause, String> causes;
+    private final Map<EntityType, String> entities;
+    private final AtomicReferenceArray<CustomName> customNames = new AtomicReferenceArray<>(CUSTOM_NAME_SLOTS);
+
+    private KillerNames(Map<DamageCause, String> causes, Map<EntityType, String> entities) {
+        this.causes = causes;
+        this.entities = entities;
+    }
+
+    static KillerNames load(FileConfiguration config, Logger logger) {
+        EnumMap<DamageCause, String> causes = new EnumMap<>(DamageCause.class);
+        for (DamageCause cause : DamageCause.values()) {
+            causes.put(cause, prettify(cause.name().replace('_', ' ')));
+        }
+        EnumMap<EntityType, String> entities = new EnumMap<>(EntityType.class);
+        for (EntityType type : EntityType.values()) {
+            entities.put(type, prettify(type.name().replace('_', ' ')));
+        }
+
+        applyOverrides(config.getConfigurationSection("killer-names.causes"), causes, DamageCause.class, logger);
+        applyOverrides(config.getConfigurationSection("killer-names.entities"), entities, EntityType.class, logger);
+        return new KillerNames(causes, entities);
+    }
+
+    private static <E extends Enum<E>> void applyOverrides(ConfigurationSection section, Map<E, String> table,
+                                                          Class<E> type, Logger logger) {
+        if (section == null) {
+            return;
+        }
+        for (String key : section.getKeys(false)) {
+            String value = section.getString(key);
+            if (value == null) {
+                continue;
+            }
+            try {
+                table.put(Enum.valueOf(type, key.trim().toUpperCase(Locale.ROOT)), value);
+            } catch (IllegalArgumentException ex) {
+                logger.warning("Ignoring unknown " + type.getSimpleName() + " '" + key + "' in killer-names.");
+            }
+        }
+    }
+
+    public String cause(DamageCause cause) {
+        return cause == null ? null : causes.get(cause);
+    }
+
+    public String entity(EntityType type) {
+        return type == null ? null : entities.get(type);
+    }
+
+    public String customName(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return null;
+        }
+        int slot = raw.hashCode() & (CUSTOM_NAME_SLOTS - 1);
+        CustomName cached = customNames.get(slot);
+        if (cached != null && cached.raw().equals(raw)) {
+            return cached.display();
+        }
+        String display = prettify(raw);
+        customNames.set(slot, new CustomName(raw, display));
+        return display;
+    }
+
+    static String prettify(String raw) {
+        StringBuilder builder = new StringBuilder(raw.length());
+        boolean wordStart = true;
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == ' ') {
+                wordStart = true;
+                continue;
+            }
+            if (wordStart && !builder.isEmpty()) {
+                builder.append(' ');
+            }
+            builder.append(wordStart ? Character.toUpperCase(c) : Character.toLowerCase(c));
+            wordStart = false;
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.throttle;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/*
+ * Caps how many heads one killer can take, overall and from the same victim, so alt-account kill farms
+ * cannot flood the world with head items. Checked after the drop chance roll and before a serial is
+ * drawn, so throttled deaths cost neither.
+ */
+public final class DropThrottle {
+
+    private final LongSupplier clock;
+    private final TokenBucketMap pairs;
+    private final TokenBucketMap killers;
+    private final LongAdder pairThrottled = new LongAdder();
+    private final LongAdder killerThrottled = new LongAdder();
+
+    private volatile RateLimit pairLimit = RateLimit.UNLIMITED;
+    private volatile RateLimit killerLimit = RateLimit.UNLIMITED;
+
+    public DropThrottle(LongSupplier clock) {
+        this.clock = clock;
+        long now = clock.getAsLong();
+        this.pairs = new TokenBucketMap(now);
+        this.killers = new TokenBucketMap(now);
+    }
+
+    public void configure(RateLimit pairLimit, RateLimit killerLimit) {
+        this.pairLimit = pairLimit;
+        this.killerLimit = killerLimit;
+    }
+
+    public boolean tryAcquire(UUID killer, UUID victim) {
+        RateLimit pair = pairLimit;
+        RateLimit perKiller = killerLimit;
+        if (!pair.enabled() && !perKiller.enabled()) {
+            return true;
+        }
+
+        long now = clock.getAsLong();
+        long pairKey = pairKey(killer, victim);
+        if (pair.enabled() && !pairs.tryAcquire(pairKey, pair, now)) {
+            pairThrottled.increment();
+            return false;
+        }
+        if (perKiller.enabled() && !killers.tryAcquire(killerKey(killer), perKiller, now)) {
+            // No head drops, so the pair keeps the token it was just charged.
+            if (pair.enabled()) {
+                pairs.release(pairKey, pair);
+            }
+            killerThrottled.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public void expire() {
+        long now = clock.getAsLong();
+        pairs.expire(now);
+        killers.expire(now);
+    }
+
+    public long pairThrottled() {
+        return pairThrottled.sum();
+    }
+
+    public long killerThrottled() {
+        return killerThrottled.sum();
+    }
+
+    public int trackedBuckets() {
+        return pairs.size() + killers.size();
+    }
+
+    private static long killerKey(UUID killer) {
+        return mix(killer.getMostSignificantBits() ^ Long.rotateLeft(killer.getLeastSignificantBits(), 29));
+    }
+
+    // 64-bit digest of both UUIDs; a collision only means two pairs share a bucket.
+    private static long pairKey(UUID killer, UUID victim) {
+        long h = killerKey(killer);
+        h = mix(h ^ victim.getMostSignificantBits());
+        return mix(h ^ Long.rotateLeft(victim.getLeastSignificantBits(), 17));
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
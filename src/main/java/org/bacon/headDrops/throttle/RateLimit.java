@@ -0,0 +1,24 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.throttle;
+
+import java.util.concurrent.TimeUnit;
+
+public record RateLimit(boolean enabled, long dropsPerHour, int burst) {
+
+    public static final RateLimit UNLIMITED = new RateLimit(false, 0L, 0);
+
+    public long intervalNanos() {
+        return TimeUnit.HOURS.toNanos(1) / Math.max(1L, dropsPerHour);
+    }
+
+    // How far a bucket's theoretical arrival time may run ahead of now before it refuses.
+    public long toleranceNanos() {
+        return intervalNanos() * Math.max(0, burst - 1);
+    }
+}
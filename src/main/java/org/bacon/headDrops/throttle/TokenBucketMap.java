@@ -0,0 +1,109 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.throttle;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Token buckets in GCRA form: each key is a single AtomicLong holding its theoretical arrival time, and
+ * taking a token is one CAS. A bucket whose arrival time has passed is indistinguishable from a fresh
+ * one, so it can be dropped. Buckets are filed in a timing wheel of one-second slots under the second
+ * they become droppable; advancing the wheel looks only at the keys in the slots that came due, so
+ * memory follows the number of keys that drew a token recently, not every key ever seen. Times come
+ * from System.nanoTime, which may be negative, so slots are found with floorDiv/floorMod.
+ */
+final class TokenBucketMap {
+
+    private static final long SLOT_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int SLOTS = 256;
+
+    private final Map<Long, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Queue<Long>[] wheel;
+    private long wheelTime;
+
+    @SuppressWarnings("unchecked")
+    TokenBucketMap(long now) {
+        wheel = new Queue[SLOTS];
+        for (int i = 0; i < SLOTS; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        wheelTime = Math.floorDiv(now, SLOT_NANOS);
+    }
+
+    boolean tryAcquire(long key, RateLimit limit, long now) {
+        long interval = limit.intervalNanos();
+        long tolerance = limit.toleranceNanos();
+
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            AtomicLong created = new AtomicLong(now + interval);
+            bucket = buckets.putIfAbsent(key, created);
+            if (bucket == null) {
+                schedule(key, now + interval);
+                return true;
+            }
+        }
+
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + interval;
+            if (next - now > tolerance + interval) {
+                return false;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+
+    // Gives back a token tryAcquire handed out that was not used after all.
+    void release(long key, RateLimit limit) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.addAndGet(-limit.intervalNanos());
+        }
+    }
+
+    // Called from a single timer thread.
+    void expire(long now) {
+        long target = Math.floorDiv(now, SLOT_NANOS);
+        while (wheelTime < target) {
+            wheelTime++;
+            Queue<Long> slot = wheel[Math.floorMod(wheelTime, SLOTS)];
+            Long key;
+            int due = slot.size();
+            for (int i = 0; i < due && (key = slot.poll()) != null; i++) {
+                AtomicLong bucket = buckets.get(key);
+                if (bucket == null) {
+                    continue;
+                }
+                long arrival = bucket.get();
+                if (arrival <= now) {
+                    buckets.remove(key, bucket);
+                } else {
+                    schedule(key, arrival);
+                }
+            }
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void schedule(long key, long arrival) {
+        long slot = Math.max(Math.floorDiv(arrival, SLOT_NANOS) + 1, wheelTime + 1);
+        slot = Math.min(slot, wheelTime + SLOTS - 1);
+        wheel[Math.floorMod(slot, SLOTS)].offer(key);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.bacon.headDrops.utils.HeadUtils.HeadMetadata;
+
+/*
+ * Binary layout of the head_data PDC entry:
+ *   version:u8, flags:u8, owner:i64 msb, owner:i64 lsb, timestamp:zigzag varint (epoch millis),
+ *   owner name, then killer name and serial when their flag is set.
+ * Strings are a varint byte length followed by UTF-8. Kept free of Bukkit types so offline tools can decode it.
+ */
+public final class HeadDataCodec {
+
+    public static final int VERSION = 1;
+
+    private static final int FLAG_KILLER = 1;
+    private static final int FLAG_SERIAL = 1 << 1;
+
+    private HeadDataCodec() {
+    }
+
+    public static byte[] encode(HeadMetadata metadata) {
+        byte[] ownerName = metadata.ownerName().getBytes(StandardCharsets.UTF_8);
+        byte[] killerName = metadata.killerName() == null ? null : metadata.killerName().getBytes(StandardCharsets.UTF_8);
+        byte[] serial = metadata.serial() == null ? null : metadata.serial().getBytes(StandardCharsets.UTF_8);
+        long timestamp = zigZag(metadata.timestamp().toEpochMilli());
+
+        int flags = 0;
+        int size = 2 + Long.BYTES * 2 + varLongSize(timestamp) + stringSize(ownerName);
+        if (killerName != null) {
+            flags |= FLAG_KILLER;
+            size += stringSize(killerName);
+        }
+        if (serial != null) {
+            flags |= FLAG_SERIAL;
+            size += stringSize(serial);
+        }
+
+        Writer writer = new Writer(new byte[size]);
+        writer.u8(VERSION);
+        writer.u8(flags);
+        writer.i64(metadata.ownerUuid().getMostSignificantBits());
+        writer.i64(metadata.ownerUuid().getLeastSignificantBits());
+        writer.varLong(timestamp);
+        writer.string(ownerName);
+        if (killerName != null) {
+            writer.string(killerName);
+        }
+        if (serial != null) {
+            writer.string(serial);
+        }
+        return writer.buffer;
+    }
+
+    public static HeadMetadata decode(byte[] data) {
+        if (data == null || data.length < 2) {
+            throw new IllegalArgumentException("Head data is truncated");
+        }
+        Reader reader = new Reader(data);
+        int version = reader.u8();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported head data version " + version);
+        }
+        int flags = reader.u8();
+        UUID ownerUuid = new UUID(reader.i64(), reader.i64());
+        Instant timestamp = Instant.ofEpochMilli(unZigZag(reader.varLong()));
+        String ownerName = reader.string();
+        String killerName = (flags & FLAG_KILLER) != 0 ? reader.string() : null;
+        String serial = (flags & FLAG_SERIAL) != 0 ? reader.string() : null;
+        return new HeadMetadata(ownerUuid, ownerName, timestamp, killerName, serial);
+    }
+
+    public static String decodeSerial(byte[] data) {
+        return decode(data).serial();
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int stringSize(byte[] utf8) {
+        return varLongSize(utf8.length) + utf8.length;
+    }
+
+    private static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static final class Writer {
+
+        private final byte[] buffer;
+        private int position;
+
+        private Writer(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private void u8(int value) {
+            buffer[position++] = (byte) value;
+        }
+
+        private void i64(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void varLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void string(byte[] utf8) {
+            varLong(utf8.length);
+            System.arraycopy(utf8, 0, buffer, position, utf8.length);
+            position += utf8.length;
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] buffer;
+        private int position;
+
+        private Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private void require(int count) {
+            if (count < 0 || buffer.length - position < count) {
+                throw new IllegalArgumentException("Head data is truncated");
+            }
+        }
+
+        private int u8() {
+            require(1);
+            return buffer[position++] & 0xFF;
+        }
+
+        private long i64() {
+            require(Long.BYTES);
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        private long varLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int current = u8();
+                value |= (long) (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in head data");
+        }
+
+        private String string() {
+            long length = varLong();
+            if (length > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Head data is truncated");
+            }
+            require((int) length);
+            String value = new String(buffer, position, (int) length, StandardCharsets.UTF_8);
+            position += (int) length;
+            return value;
+        }
+    }
+}
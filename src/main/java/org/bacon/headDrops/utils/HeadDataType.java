@@ -0,0 +1,40 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.utils;
+
+import org.bacon.headDrops.utils.HeadUtils.HeadMetadata;
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.bukkit.persistence.PersistentDataType;
+
+public final class HeadDataType implements PersistentDataType<byte[], HeadMetadata> {
+
+    public static final HeadDataType INSTANCE = new HeadDataType();
+
+    private HeadDataType() {
+    }
+
+    @Override
+    public Class<byte[]> getPrimitiveType() {
+        return byte[].class;
+    }
+
+    @Override
+    public Class<HeadMetadata> getComplexType() {
+        return HeadMetadata.class;
+    }
+
+    @Override
+    public byte[] toPrimitive(HeadMetadata complex, PersistentDataAdapterContext context) {
+        return HeadDataCodec.encode(complex);
+    }
+
+    @Override
+    public HeadMetadata fromPrimitive(byte[] primitive, PersistentDataAdapterContext context) {
+        return HeadDataCodec.decode(primitive);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.bacon.headDrops.settings.HeadDropsSettings;
+import org.bukkit.inventory.ItemStack;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+
+/*
+ * Bounded LRU of per-owner head items with the skin profile and, when the title only names the owner,
+ * the title already applied. Drops get a copy, so the prototypes themselves are never modified once
+ * published. An entry is rebuilt when the render version or owner name changes, or when a textured
+ * profile turns up for an owner whose prototype was built without one.
+ */
+public final class HeadPrototypeCache {
+
+    private final LongSupplier clock;
+    private final Map<UUID, Prototype> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private volatile int maxEntries;
+    private volatile long expireAfterNanos;
+
+    public HeadPrototypeCache(LongSupplier clock, int maxEntries, long expireAfterMillis) {
+        this.clock = Objects.requireNonNull(clock, "clock");
+        configure(maxEntries, expireAfterMillis);
+    }
+
+    public void configure(int maxEntries, long expireAfterMillis) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.expireAfterNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, expireAfterMillis));
+        synchronized (entries) {
+            trim();
+        }
+    }
+
+    // Returns an item the caller owns, with only per-drop lore and data left to apply.
+    ItemStack copy(HeadDropsSettings settings, UUID ownerId, String ownerName, PlayerProfile profile) {
+        if (maxEntries == 0) {
+            misses.increment();
+            return HeadUtils.buildPrototype(settings, ownerName, profile);
+        }
+
+        long now = clock.getAsLong();
+        int version = settings.renderVersion();
+        boolean textured = profile.hasTextures();
+        Prototype prototype;
+        synchronized (entries) {
+            prototype = entries.get(ownerId);
+        }
+        if (prototype != null && prototype.matches(version, ownerName, textured, now, expireAfterNanos)) {
+            hits.increment();
+            return prototype.item().clone();
+        }
+
+        misses.increment();
+        ItemStack item = HeadUtils.buildPrototype(settings, ownerName, profile);
+        synchronized (entries) {
+            entries.put(ownerId, new Prototype(item, version, ownerName, textured, now));
+            trim();
+        }
+        return item.clone();
+    }
+
+    public void invalidate(UUID ownerId) {
+        synchronized (entries) {
+            entries.remove(ownerId);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    private void trim() {
+        int limit = maxEntries;
+        var iterator = entries.entrySet().iterator();
+        while (entries.size() > limit && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record Prototype(ItemStack item, int version, String ownerName, boolean textured, long builtAt) {
+
+        boolean matches(int currentVersion, String currentName, boolean profileTextured, long now, long expireAfter) {
+            return version == currentVersion
+                    && ownerName.equals(currentName)
+                    && (textured || !profileTextured)
+                    && now - builtAt <= expireAfter;
+        }
+    }
+}
@@ -15,6 +15,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.bacon.headDrops.HeadDrops;
+import org.bacon.headDrops.settings.HeadDropsSettings;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
@@ -25,39 +26,88 @@ import org.bukkit.persistence.PersistentDataType;
 
 import com.destroystokyo.paper.profile.PlayerProfile;
 
+import io.papermc.paper.persistence.PersistentDataContainerView;
+
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 
 public final class HeadUtils {
 
-    private static final LegacyComponentSerializer LEGACY_SERIALIZER = LegacyComponentSerializer.legacyAmpersand();
-
     private HeadUtils() {
     }
 
     public static ItemStack createHeadItem(HeadDrops plugin, HeadMetadata metadata, PlayerProfile profile) {
+        return createHeadItem(plugin, plugin.settings(), metadata, profile);
+    }
+
+    public static ItemStack createHeadItem(HeadDrops plugin, HeadDropsSettings settings, HeadMetadata metadata, PlayerProfile profile) {
         Objects.requireNonNull(plugin, "plugin");
+        Objects.requireNonNull(settings, "settings");
         Objects.requireNonNull(metadata, "metadata");
 
-        ItemStack item = new ItemStack(Material.PLAYER_HEAD, 1);
-        ItemMeta baseMeta = item.getItemMeta();
-        if (!(baseMeta instanceof SkullMeta skullMeta)) {
-            return item;
-        }
-
-        PlayerProfile appliedProfile = profile;
+        PlayerProfile appliedProfile = plugin.profileCache().resolve(metadata.ownerUuid(), metadata.ownerName(), profile);
         if (appliedProfile == null) {
             appliedProfile = Bukkit.createProfile(metadata.ownerUuid(), metadata.ownerName());
         }
-        skullMeta.setPlayerProfile(appliedProfile);
+        ItemStack item = plugin.headPrototypes().copy(settings, metadata.ownerUuid(), metadata.ownerName(), appliedProfile);
+        if (!(item.getItemMeta() instanceof SkullMeta skullMeta)) {
+            return item;
+        }
 
-        applyDisplayData(plugin, skullMeta, metadata);
+        applyDisplayData(settings, skullMeta, metadata, !settings.titleTemplate().ownerOnly());
         writeHeadData(plugin, skullMeta.getPersistentDataContainer(), metadata);
+        skullMeta.getPersistentDataContainer().set(plugin.renderVersionKey(), PersistentDataType.INTEGER, settings.renderVersion());
 
         item.setItemMeta(skullMeta);
         return item;
     }
 
+    // The parts of a head that are the same for every drop of one owner: the skin and an owner-only title.
+    static ItemStack buildPrototype(HeadDropsSettings settings, String ownerName, PlayerProfile profile) {
+        ItemStack item = new ItemStack(Material.PLAYER_HEAD, 1);
+        if (!(item.getItemMeta() instanceof SkullMeta skullMeta)) {
+            return item;
+        }
+        skullMeta.setPlayerProfile(profile);
+        LoreTemplate title = settings.titleTemplate();
+        if (title.ownerOnly()) {
+            Component rendered = title.render(new LoreTemplate.Values(ownerName, null, null, null));
+            if (rendered != null) {
+                skullMeta.displayName(rendered);
+            }
+        }
+        item.setItemMeta(skullMeta);
+        return item;
+    }
+
+    // Re-renders name and lore if the head was rendered under different templates. The version check reads
+    // the item's PDC view directly, so an up-to-date head costs no ItemMeta copy.
+    public static boolean refreshDisplay(HeadDrops plugin, HeadDropsSettings settings, ItemStack item) {
+        if (item == null || item.getType() != Material.PLAYER_HEAD) {
+            return false;
+        }
+        PersistentDataContainerView view = item.getPersistentDataContainer();
+        if (!view.has(plugin.headDataKey(), PersistentDataType.BYTE_ARRAY) && !view.has(plugin.markerKey(), PersistentDataType.BYTE)) {
+            return false;
+        }
+        Integer version = view.get(plugin.renderVersionKey(), PersistentDataType.INTEGER);
+        if (version != null && version == settings.renderVersion()) {
+            return false;
+        }
+
+        if (!(item.getItemMeta() instanceof SkullMeta meta)) {
+            return false;
+        }
+        PersistentDataContainer container = meta.getPersistentDataContainer();
+        Optional<HeadMetadata> metadata = readHeadData(plugin, container);
+        if (metadata.isEmpty()) {
+            return false;
+        }
+        applyDisplayData(settings, meta, metadata.get());
+        container.set(plugin.renderVersionKey(), PersistentDataType.INTEGER, settings.renderVersion());
+        item.setItemMeta(meta);
+        return true;
+    }
+
     public static boolean isPluginHead(HeadDrops plugin, ItemStack item) {
         if (plugin == null || item == null) {
             return false;
@@ -69,7 +119,12 @@ public final class HeadUtils {
         if (meta == null) {
             return false;
         }
-        return meta.getPersistentDataContainer().has(plugin.markerKey(), PersistentDataType.BYTE);
+        return isPluginHead(plugin, meta.getPersistentDataContainer());
+    }
+
+    public static boolean isPluginHead(HeadDrops plugin, PersistentDataContainer container) {
+        return container.has(plugin.headDataKey(), PersistentDataType.BYTE_ARRAY)
+                || container.has(plugin.markerKey(), PersistentDataType.BYTE);
     }
 
     public static Optional<HeadMetadata> readHeadData(HeadDrops plugin, ItemStack item) {
@@ -87,6 +142,29 @@ public final class HeadUtils {
         if (plugin == null || container == null) {
             return Optional.empty();
         }
+        if (container.has(plugin.headDataKey(), PersistentDataType.BYTE_ARRAY)) {
+            try {
+                return Optional.ofNullable(container.get(plugin.headDataKey(), HeadDataType.INSTANCE));
+            } catch (IllegalArgumentException ex) {
+                return Optional.empty();
+            }
+        }
+        return readLegacyHeadData(plugin, container);
+    }
+
+    public static boolean migrateLegacyHeadData(HeadDrops plugin, PersistentDataContainer container) {
+        if (plugin == null || container == null || container.has(plugin.headDataKey(), PersistentDataType.BYTE_ARRAY)) {
+            return false;
+        }
+        Optional<HeadMetadata> legacy = readLegacyHeadData(plugin, container);
+        if (legacy.isEmpty()) {
+            return false;
+        }
+        writeHeadData(plugin, container, legacy.get());
+        return true;
+    }
+
+    private static Optional<HeadMetadata> readLegacyHeadData(HeadDrops plugin, PersistentDataContainer container) {
         if (!container.has(plugin.markerKey(), PersistentDataType.BYTE)) {
             return Optional.empty();
         }
@@ -106,11 +184,11 @@ public final class HeadUtils {
             return Optional.empty();
         }
 
-    Instant timestamp = Instant.ofEpochMilli(timestampRaw);
-    String killerName = container.get(plugin.killerKey(), PersistentDataType.STRING);
-    String serial = container.get(plugin.serialKey(), PersistentDataType.STRING);
+        Instant timestamp = Instant.ofEpochMilli(timestampRaw);
+        String killerName = container.get(plugin.killerKey(), PersistentDataType.STRING);
+        String serial = container.get(plugin.serialKey(), PersistentDataType.STRING);
 
-    return Optional.of(new HeadMetadata(ownerId, ownerName, timestamp, killerName, serial));
+        return Optional.of(new HeadMetadata(ownerId, ownerName, timestamp, killerName, serial));
     }
 
     public static void writeHeadData(HeadDrops plugin, PersistentDataContainer container, HeadMetadata metadata) {
@@ -118,84 +196,78 @@ public final class HeadUtils {
         Objects.requireNonNull(container, "container");
         Objects.requireNonNull(metadata, "metadata");
 
-        container.set(plugin.markerKey(), PersistentDataType.BYTE, (byte) 1);
-        container.set(plugin.ownerIdKey(), PersistentDataType.STRING, metadata.ownerUuid().toString());
-        container.set(plugin.ownerNameKey(), PersistentDataType.STRING, metadata.ownerName());
-        container.set(plugin.timestampKey(), PersistentDataType.LONG, metadata.timestamp().toEpochMilli());
-
-        if (metadata.killerName() != null && !metadata.killerName().isBlank()) {
-            container.set(plugin.killerKey(), PersistentDataType.STRING, metadata.killerName());
-        } else {
-            container.remove(plugin.killerKey());
-        }
-
-        if (metadata.serial() != null && !metadata.serial().isBlank()) {
-            container.set(plugin.serialKey(), PersistentDataType.STRING, metadata.serial());
-        } else {
-            container.remove(plugin.serialKey());
-        }
+        container.set(plugin.headDataKey(), HeadDataType.INSTANCE, metadata);
+        clearLegacyHeadData(plugin, container);
     }
 
     public static void clearHeadData(HeadDrops plugin, PersistentDataContainer container) {
         if (plugin == null || container == null) {
             return;
         }
+        container.remove(plugin.headDataKey());
+        container.remove(plugin.renderVersionKey());
+        clearLegacyHeadData(plugin, container);
+    }
+
+    private static void clearLegacyHeadData(HeadDrops plugin, PersistentDataContainer container) {
         container.remove(plugin.markerKey());
         container.remove(plugin.ownerIdKey());
         container.remove(plugin.ownerNameKey());
         container.remove(plugin.timestampKey());
         container.remove(plugin.killerKey());
-    container.remove(plugin.serialKey());
+        container.remove(plugin.serialKey());
     }
 
-    private static void applyDisplayData(HeadDrops plugin, SkullMeta meta, HeadMetadata metadata) {
-        String title = applyPlaceholders(plugin.titleTemplate(), metadata, plugin);
-        if (!title.isBlank()) {
-            meta.displayName(LEGACY_SERIALIZER.deserialize(title));
-        }
-
-        List<Component> lore = new ArrayList<>();
+    public static void applyDisplayData(HeadDropsSettings settings, SkullMeta meta, HeadMetadata metadata) {
+        applyDisplayData(settings, meta, metadata, true);
+    }
 
-        String timestampLine = applyPlaceholders(plugin.timestampTemplate(), metadata, plugin);
-        if (!timestampLine.isBlank()) {
-            lore.add(LEGACY_SERIALIZER.deserialize(timestampLine));
-        }
+    private static void applyDisplayData(HeadDropsSettings settings, SkullMeta meta, HeadMetadata metadata, boolean withTitle) {
+        LoreTemplate.Values values = placeholderValues(settings, metadata);
 
-        String killerLine = applyPlaceholders(plugin.killerTemplate(), metadata, plugin);
-        if (!killerLine.isBlank()) {
-            lore.add(LEGACY_SERIALIZER.deserialize(killerLine));
+        if (withTitle) {
+            Component title = settings.titleTemplate().render(values);
+            if (title != null) {
+                meta.displayName(title);
+            }
         }
 
-        if (plugin.serialEnabled() && plugin.serialVisible()) {
-            String serialLine = applyPlaceholders(plugin.serialTemplate(), metadata, plugin);
-            if (!serialLine.isBlank()) {
-                lore.add(LEGACY_SERIALIZER.deserialize(serialLine));
-            }
+        List<Component> lore = new ArrayList<>(3);
+        addLine(lore, settings.timestampTemplate(), values);
+        addLine(lore, settings.killerTemplate(), values);
+        if (settings.serialEnabled() && settings.serialVisible()) {
+            addLine(lore, settings.serialTemplate(), values);
         }
 
         meta.lore(lore);
     }
 
-    private static String applyPlaceholders(String template, HeadMetadata metadata, HeadDrops plugin) {
+    private static void addLine(List<Component> lore, LoreTemplate template, LoreTemplate.Values values) {
+        Component line = template.render(values);
+        if (line != null) {
+            lore.add(line);
+        }
+    }
+
+    private static LoreTemplate.Values placeholderValues(HeadDropsSettings settings, HeadMetadata metadata) {
         String killerName = metadata.killerName();
         if (killerName == null || killerName.isBlank()) {
-            killerName = plugin.killerUnknown();
+            killerName = settings.killerUnknown();
         }
 
         String serial = metadata.serial();
         if (serial == null || serial.isBlank()) {
-            serial = plugin.serialUnknown();
+            serial = settings.serialUnknown();
         }
 
-        String result = template
-                .replace("%player%", metadata.ownerName())
-                .replace("%timestamp%", plugin.formatTimestamp(metadata.timestamp()))
-                .replace("%killer%", killerName)
-                .replace("%serial%", serial);
-
-        return result;
+        return new LoreTemplate.Values(
+                metadata.ownerName(),
+                settings.formatTimestamp(metadata.timestamp()),
+                killerName,
+                serial
+        );
     }
-    
+
     public record HeadMetadata(UUID ownerUuid, String ownerName, Instant timestamp, String killerName, String serial) {
 
         public HeadMetadata {
@@ -0,0 +1,216 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.kyori.adventure.text.serializer.legacy.LegacyFormat;
+
+/*
+ * A lore line compiled once from its legacy '&' template. Literal runs are pre-built components;
+ * placeholders become slots that only take a plain value and the style in effect where they appeared.
+ */
+public final class LoreTemplate {
+
+    private static final char LEGACY_CHAR = '&';
+    private static final char PLACEHOLDER_CHAR = '%';
+
+    public static final LoreTemplate EMPTY = new LoreTemplate(List.of(), false);
+
+    public enum Placeholder {
+        PLAYER,
+        TIMESTAMP,
+        KILLER,
+        SERIAL;
+
+        private static Placeholder fromToken(String token) {
+            for (Placeholder placeholder : values()) {
+                if (placeholder.name().equalsIgnoreCase(token)) {
+                    return placeholder;
+                }
+            }
+            return null;
+        }
+    }
+
+    public record Values(String player, String timestamp, String killer, String serial) {
+
+        String get(Placeholder placeholder) {
+            return switch (placeholder) {
+                case PLAYER -> player;
+                case TIMESTAMP -> timestamp;
+                case KILLER -> killer;
+                case SERIAL -> serial;
+            };
+        }
+    }
+
+    private sealed interface Segment permits Literal, Slot {
+    }
+
+    private record Literal(Component component) implements Segment {
+    }
+
+    private record Slot(Placeholder placeholder, Style style) implements Segment {
+    }
+
+    private final List<Segment> segments;
+    private final boolean hasVisibleText;
+
+    private LoreTemplate(List<Segment> segments, boolean hasVisibleText) {
+        this.segments = segments;
+        this.hasVisibleText = hasVisibleText;
+    }
+
+    public static LoreTemplate compile(String template, Consumer<String> problems) {
+        if (template == null || template.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        Style style = Style.empty();
+        boolean hasVisibleText = false;
+
+        int length = template.length();
+        int index = 0;
+        while (index < length) {
+            char current = template.charAt(index);
+
+            if (current == LEGACY_CHAR && index + 1 < length) {
+                LegacyFormat format = LegacyComponentSerializer.parseChar(template.charAt(index + 1));
+                if (format != null) {
+                    Style next = applyFormat(style, format);
+                    if (!next.equals(style)) {
+                        hasVisibleText |= flushLiteral(segments, text, style);
+                        style = next;
+                    }
+                    index += 2;
+                    continue;
+                }
+            }
+
+            if (current == PLACEHOLDER_CHAR) {
+                int end = template.indexOf(PLACEHOLDER_CHAR, index + 1);
+                if (end > index + 1) {
+                    String token = template.substring(index + 1, end);
+                    if (isToken(token)) {
+                        Placeholder placeholder = Placeholder.fromToken(token);
+                        if (placeholder != null) {
+                            hasVisibleText |= flushLiteral(segments, text, style);
+                            segments.add(new Slot(placeholder, style));
+                        } else {
+                            problems.accept("unknown placeholder '%" + token + "%', expected one of "
+                                    + knownPlaceholders());
+                            text.append(template, index, end + 1);
+                        }
+                        index = end + 1;
+                        continue;
+                    }
+                }
+            }
+
+            text.append(current);
+            index++;
+        }
+        hasVisibleText |= flushLiteral(segments, text, style);
+
+        if (segments.isEmpty()) {
+            return EMPTY;
+        }
+        return new LoreTemplate(List.copyOf(segments), hasVisibleText);
+    }
+
+    public Component render(Values values) {
+        if (segments.isEmpty()) {
+            return null;
+        }
+
+        boolean visible = hasVisibleText;
+        TextComponent.Builder builder = Component.text();
+        for (Segment segment : segments) {
+            if (segment instanceof Literal literal) {
+                builder.append(literal.component());
+            } else if (segment instanceof Slot slot) {
+                String value = values.get(slot.placeholder());
+                if (value == null || value.isEmpty()) {
+                    continue;
+                }
+                visible |= !value.isBlank();
+                builder.append(Component.text(value, slot.style()));
+            }
+        }
+        return visible ? builder.build() : null;
+    }
+
+    // True when the rendered text depends on nothing but the head owner's name.
+    public boolean ownerOnly() {
+        for (Segment segment : segments) {
+            if (segment instanceof Slot slot && slot.placeholder() != Placeholder.PLAYER) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    private static boolean flushLiteral(List<Segment> segments, StringBuilder text, Style style) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        String literal = text.toString();
+        text.setLength(0);
+        segments.add(new Literal(Component.text(literal, style)));
+        return !literal.isBlank();
+    }
+
+    private static Style applyFormat(Style style, LegacyFormat format) {
+        if (format.reset()) {
+            return Style.empty();
+        }
+        TextColor color = format.color();
+        if (color != null) {
+            return Style.style(color);
+        }
+        TextDecoration decoration = format.decoration();
+        if (decoration != null) {
+            return style.decoration(decoration, true);
+        }
+        return style;
+    }
+
+    private static boolean isToken(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String knownPlaceholders() {
+        List<String> names = new ArrayList<>();
+        for (Placeholder placeholder : Placeholder.values()) {
+            names.add("%" + placeholder.name().toLowerCase(Locale.ROOT) + "%");
+        }
+        return String.join(", ", names);
+    }
+}
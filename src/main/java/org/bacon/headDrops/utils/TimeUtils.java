@@ -32,14 +32,18 @@ public final class TimeUtils {
     }
 
     public static DateTimeFormatter buildFormatter(String pattern, ZoneId zoneId, String fallbackPattern, Logger logger) {
+        return buildRenderer(pattern, zoneId, fallbackPattern, logger).formatter();
+    }
+
+    public static TimestampRenderer buildRenderer(String pattern, ZoneId zoneId, String fallbackPattern, Logger logger) {
         String effectivePattern = (pattern == null || pattern.isBlank()) ? fallbackPattern : pattern;
         try {
-            return DateTimeFormatter.ofPattern(effectivePattern).withZone(zoneId);
+            return new TimestampRenderer(DateTimeFormatter.ofPattern(effectivePattern).withZone(zoneId), effectivePattern);
         } catch (IllegalArgumentException ex) {
             if (logger != null) {
                 logger.warning("Invalid timestamp format '" + effectivePattern + "'. Falling back to '" + fallbackPattern + "'.");
             }
-            return DateTimeFormatter.ofPattern(fallbackPattern).withZone(zoneId);
+            return new TimestampRenderer(DateTimeFormatter.ofPattern(fallbackPattern).withZone(zoneId), fallbackPattern);
         }
     }
 }
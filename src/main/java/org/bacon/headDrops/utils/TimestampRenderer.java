@@ -0,0 +1,93 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.utils;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/*
+ * Formats lore timestamps, remembering the last result for as long as the text cannot change: the
+ * current second, or the current minute when the pattern shows nothing finer and no zone or offset.
+ * The cache is a single immutable slot swapped through a volatile field, so racing threads at worst
+ * format the same instant twice. Patterns with fractions of a second or milli-of-day always format.
+ */
+public final class TimestampRenderer {
+
+    private record Slot(long startMillis, long endMillis, String text) {
+    }
+
+    private final DateTimeFormatter formatter;
+    private final String pattern;
+    private final ChronoUnit granularity;
+    private volatile Slot slot;
+
+    public TimestampRenderer(DateTimeFormatter formatter, String pattern) {
+        this.formatter = formatter;
+        this.pattern = pattern;
+        this.granularity = granularity(pattern);
+    }
+
+    public String format(Instant instant) {
+        if (granularity == null) {
+            return formatter.format(instant);
+        }
+
+        long millis = instant.toEpochMilli();
+        Slot cached = slot;
+        if (cached != null && millis >= cached.startMillis() && millis < cached.endMillis()) {
+            return cached.text();
+        }
+
+        ZonedDateTime zoned = instant.atZone(formatter.getZone());
+        String text = formatter.format(zoned);
+        long start = zoned.truncatedTo(granularity).toInstant().toEpochMilli();
+        slot = new Slot(start, start + granularity.getDuration().toMillis(), text);
+        return text;
+    }
+
+    public DateTimeFormatter formatter() {
+        return formatter;
+    }
+
+    public String pattern() {
+        return pattern;
+    }
+
+    public boolean caching() {
+        return granularity != null;
+    }
+
+    // Finest unit the pattern can show, or null if it shows fractions of a second.
+    static ChronoUnit granularity(String pattern) {
+        boolean seconds = false;
+        boolean zone = false;
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+                continue;
+            }
+            if (quoted) {
+                continue;
+            }
+            switch (c) {
+                case 'S', 'n', 'N', 'A' -> {
+                    return null;
+                }
+                case 's' -> seconds = true;
+                case 'V', 'v', 'z', 'O', 'X', 'x', 'Z' -> zone = true;
+                default -> {
+                }
+            }
+        }
+        return seconds || zone ? ChronoUnit.SECONDS : ChronoUnit.MINUTES;
+    }
+}
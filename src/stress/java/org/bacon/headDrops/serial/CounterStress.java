@@ -0,0 +1,130 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.serial;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/*
+ * Hammers one backend directly: many threads drawing values, one saving, one watching the persisted
+ * value, then a close and reopen as a restart would do. Every value must be unique, the persisted value
+ * must never go backwards, and the reopened counter must resume above everything handed out.
+ */
+final class CounterStress {
+
+    private final SerialBackend backend;
+    private final StressReport report;
+    private final Logger logger;
+
+    CounterStress(SerialBackend backend, StressReport report, Logger logger) {
+        this.backend = backend;
+        this.report = report;
+        this.logger = logger;
+    }
+
+    void run(Path directory, int threads, int perThread, int instances, long seed) throws Exception {
+        String check = backend.name().toLowerCase(Locale.ROOT) + " counter x" + instances;
+        List<SerialCounter> counters = new ArrayList<>(instances);
+        for (int i = 0; i < instances; i++) {
+            counters.add(backend.open(directory, logger));
+        }
+
+        long[][] issued = new long[threads][perThread];
+        AtomicBoolean done = new AtomicBoolean();
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            SerialCounter counter = counters.get(t % instances);
+            long[] values = issued[t];
+            SplittableRandom random = new SplittableRandom(seed + t);
+            workers.add(StressReport.start("counter-worker-" + t, report, check, () -> {
+                for (int i = 0; i < perThread; i++) {
+                    values[i] = counter.next();
+                    if (random.nextInt(256) == 0) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+        Thread saver = StressReport.start("counter-saver", report, check, () -> {
+            while (!done.get()) {
+                for (SerialCounter counter : counters) {
+                    counter.save();
+                }
+                Thread.onSpinWait();
+            }
+        });
+        Thread watcher = StressReport.start("counter-watcher", report, check, () -> {
+            long last = 0L;
+            while (!done.get()) {
+                long persisted = backend.persisted(directory);
+                if (persisted < last) {
+                    report.fail(check, "persisted value went backwards from " + last + " to " + persisted);
+                }
+                last = Math.max(last, persisted);
+            }
+        });
+
+        StressReport.joinAll(workers);
+        done.set(true);
+        saver.join();
+        watcher.join();
+        for (SerialCounter counter : counters) {
+            counter.close();
+        }
+
+        long[] all = flatten(issued);
+        Arrays.sort(all);
+        int duplicates = 0;
+        for (int i = 1; i < all.length; i++) {
+            if (all[i] == all[i - 1]) {
+                if (duplicates++ < 5) {
+                    report.fail(check, "value " + all[i] + " handed out twice");
+                }
+            }
+        }
+        if (duplicates > 5) {
+            report.fail(check, (duplicates - 5) + " more duplicates");
+        }
+
+        long highest = all[all.length - 1];
+        long persisted = backend.persisted(directory);
+        if (persisted < highest) {
+            report.fail(check, "persisted " + persisted + " after close but " + highest + " was handed out");
+        }
+        SerialCounter reopened = backend.open(directory, logger);
+        try {
+            long resumed = reopened.next();
+            if (resumed <= highest) {
+                report.fail(check, "reopened counter handed out " + resumed + ", already used before restart");
+            }
+        } finally {
+            reopened.close();
+        }
+        report.pass(check, all.length + " values, highest " + highest + ", persisted " + persisted);
+    }
+
+    private static long[] flatten(long[][] issued) {
+        int total = 0;
+        for (long[] values : issued) {
+            total += values.length;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (long[] values : issued) {
+            System.arraycopy(values, 0, all, offset, values.length);
+            offset += values.length;
+        }
+        return all;
+    }
+}
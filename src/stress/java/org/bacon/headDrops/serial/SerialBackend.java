@@ -0,0 +1,104 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.serial;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/*
+ * A SerialCounter implementation under stress. New backends only need a public no-arg class implementing
+ * this interface, passed by name: --backend com.example.MyBackend
+ */
+public interface SerialBackend {
+
+    String name();
+
+    SerialCounter open(Path directory, Logger logger) throws IOException;
+
+    // The highest value a restarted server would resume after, read from disk.
+    long persisted(Path directory) throws IOException;
+
+    // True when several counters may be opened on one directory at once, like servers sharing a file.
+    boolean shareable();
+
+    static SerialBackend resolve(String name) {
+        for (BuiltIn builtIn : BuiltIn.values()) {
+            if (builtIn.name().equalsIgnoreCase(name)) {
+                return builtIn;
+            }
+        }
+        try {
+            return (SerialBackend) Class.forName(name).getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException | NoSuchMethodException | InstantiationException
+                 | IllegalAccessException | InvocationTargetException | ClassCastException ex) {
+            throw new IllegalArgumentException("Unknown serial backend " + name, ex);
+        }
+    }
+
+    enum BuiltIn implements SerialBackend {
+
+        LOCAL {
+            @Override
+            public SerialCounter open(Path directory, Logger logger) {
+                return new LocalSerialCounter(dataFile(directory).toFile(), logger, 0L);
+            }
+
+            @Override
+            public long persisted(Path directory) {
+                return LocalSerialCounter.readStoredValue(dataFile(directory).toFile());
+            }
+
+            @Override
+            public boolean shareable() {
+                return false;
+            }
+        },
+        LEASED {
+            @Override
+            public SerialCounter open(Path directory, Logger logger) throws IOException {
+                // Each open stands in for its own server, so each mirrors the shared mark into its own data file.
+                Path mirror = Files.createTempFile(directory, "serial-data", ".yml");
+                return LeasedSerialCounter.open(sharedFile(directory), LEASE_BLOCK, 0L, mirror.toFile(), logger);
+            }
+
+            @Override
+            public long persisted(Path directory) throws IOException {
+                SharedCounterFile file = SharedCounterFile.open(sharedFile(directory), 0L);
+                try {
+                    return file.highWater();
+                } finally {
+                    file.close();
+                }
+            }
+
+            @Override
+            public boolean shareable() {
+                return true;
+            }
+        };
+
+        private static final int LEASE_BLOCK = 64;
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        private static Path dataFile(Path directory) {
+            return directory.resolve("serial-data.yml");
+        }
+
+        private static Path sharedFile(Path directory) {
+            return directory.resolve("serial-counter.dat");
+        }
+    }
+}
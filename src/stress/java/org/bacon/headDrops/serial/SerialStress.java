@@ -0,0 +1,122 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.serial;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/*
+ * Randomised multi-threaded stress run for the serial backends and SerialNumberService:
+ *   ./gradlew serialStress --args="--threads 16 --serials 200000 --rounds 5 --backend local,leased"
+ * Exits with status 1 if any check fails; the seed is printed so a failing interleaving can be retried.
+ */
+public final class SerialStress {
+
+    private SerialStress() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        int perThread = 100_000;
+        int rounds = 3;
+        long seed = System.nanoTime();
+        List<SerialBackend> backends = new ArrayList<>(List.of(SerialBackend.BuiltIn.values()));
+        boolean service = true;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads" -> threads = Integer.parseInt(requireValue(args, ++i));
+                case "--serials" -> perThread = Integer.parseInt(requireValue(args, ++i));
+                case "--rounds" -> rounds = Integer.parseInt(requireValue(args, ++i));
+                case "--seed" -> seed = Long.parseLong(requireValue(args, ++i));
+                case "--backend" -> {
+                    backends.clear();
+                    for (String name : requireValue(args, ++i).split(",")) {
+                        backends.add(SerialBackend.resolve(name.trim()));
+                    }
+                }
+                case "--no-service" -> service = false;
+                default -> {
+                    usage();
+                    return;
+                }
+            }
+        }
+
+        Logger logger = Logger.getLogger("HeadDrops Stress");
+        logger.setLevel(Level.SEVERE);
+        StressReport report = new StressReport(System.out);
+        System.out.println("seed " + seed + ", " + threads + " threads, " + perThread + " serials per thread");
+
+        for (int round = 0; round < rounds; round++) {
+            runRound(backends, service, threads, perThread, seed + round * 1_000_003L, report, logger);
+        }
+
+        if (report.failed()) {
+            System.out.println("FAILED, rerun with --seed " + seed);
+            System.exit(1);
+        }
+    }
+
+    private static void runRound(List<SerialBackend> backends, boolean service, int threads, int perThread,
+                                 long seed, StressReport report, Logger logger) throws Exception {
+        for (SerialBackend backend : backends) {
+            CounterStress counters = new CounterStress(backend, report, logger);
+            withDirectory(directory -> counters.run(directory, threads, perThread, 1, seed));
+            if (backend.shareable()) {
+                withDirectory(directory -> counters.run(directory, threads, perThread, 2, seed));
+            }
+        }
+        if (service) {
+            ServiceStress services = new ServiceStress(report, logger);
+            withDirectory(directory -> services.run(directory, false, threads, perThread, seed));
+            withDirectory(directory -> services.run(directory, true, threads, perThread, seed));
+        }
+    }
+
+    private interface DirectoryTask {
+
+        void run(Path directory) throws Exception;
+    }
+
+    private static void withDirectory(DirectoryTask task) throws Exception {
+        Path directory = Files.createTempDirectory("headdrops-stress");
+        try {
+            task.run(directory);
+        } finally {
+            delete(directory);
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static String requireValue(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static void usage() {
+        System.err.println("Usage: ./gradlew serialStress --args=\"[--threads N] [--serials N] [--rounds N]"
+                + " [--seed N] [--backend local,leased,<class>] [--no-service]\"");
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.serial;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+import org.bacon.headDrops.serial.SerialNumberService.RandomSerialSettings;
+import org.bacon.headDrops.serial.SerialNumberService.SerialMode;
+import org.bacon.headDrops.serial.SerialNumberService.SharedCounterSettings;
+
+/*
+ * Hammers SerialNumberService the way the plugin does: region threads calling nextSerial while a reload
+ * flips the mode and enabled flag and the save timer and counter reopen run alongside. The switcher
+ * bumps an epoch to odd before configure() and to even after, so a serial drawn between two equal even
+ * epochs must match the mode published for that epoch.
+ */
+final class ServiceStress {
+
+    private enum Phase {
+        RANDOM,
+        INCREMENTAL,
+        DISABLED
+    }
+
+    private final StressReport report;
+    private final Logger logger;
+
+    private volatile Phase phase = Phase.INCREMENTAL;
+
+    ServiceStress(StressReport report, Logger logger) {
+        this.report = report;
+        this.logger = logger;
+    }
+
+    void run(Path directory, boolean shared, int threads, int perThread, long seed) throws Exception {
+        SerialBackend backend = shared ? SerialBackend.BuiltIn.LEASED : SerialBackend.BuiltIn.LOCAL;
+        String check = "service " + backend;
+        SharedCounterSettings counter = shared
+                ? new SharedCounterSettings(true, directory.resolve("serial-counter.dat"), 64)
+                : SharedCounterSettings.DISABLED;
+        RandomSerialSettings random = RandomSerialSettings.DEFAULT;
+
+        SerialNumberService service = new SerialNumberService(directory.toFile(), logger);
+        service.configure(true, SerialMode.INCREMENTAL, counter, random);
+        service.load();
+        phase = Phase.INCREMENTAL;
+
+        AtomicLong epoch = new AtomicLong();
+        AtomicBoolean done = new AtomicBoolean();
+        LongAdder switches = new LongAdder();
+        List<List<String>> issued = new ArrayList<>(threads);
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            List<String> serials = new ArrayList<>(perThread);
+            issued.add(serials);
+            workers.add(StressReport.start("service-worker-" + t, report, check, () -> {
+                for (int i = 0; i < perThread; i++) {
+                    long before = epoch.get();
+                    Phase expected = phase;
+                    Optional<String> serial = service.nextSerial();
+                    long after = epoch.get();
+                    serial.ifPresent(serials::add);
+                    if (before == after && (before & 1L) == 0L) {
+                        verify(check, expected, serial, random.length());
+                    }
+                }
+            }));
+        }
+
+        Thread switcher = StressReport.start("service-switcher", report, check, () -> {
+            SplittableRandom rng = new SplittableRandom(seed);
+            while (!done.get()) {
+                LockSupport.parkNanos(rng.nextLong(200_000L));
+                Phase next = Phase.values()[rng.nextInt(Phase.values().length)];
+                epoch.incrementAndGet();
+                service.configure(next != Phase.DISABLED,
+                        next == Phase.RANDOM ? SerialMode.RANDOM : SerialMode.INCREMENTAL, counter, random);
+                phase = next;
+                epoch.incrementAndGet();
+                switches.increment();
+            }
+        });
+        Thread saver = StressReport.start("service-saver", report, check, () -> {
+            SplittableRandom rng = new SplittableRandom(seed ^ 0x5A5A5A5AL);
+            while (!done.get()) {
+                LockSupport.parkNanos(rng.nextLong(500_000L));
+                if (rng.nextInt(8) == 0) {
+                    service.load();
+                } else {
+                    service.save();
+                }
+            }
+        });
+        Thread watcher = StressReport.start("service-watcher", report, check, () -> {
+            long last = 0L;
+            while (!done.get()) {
+                long persisted = backend.persisted(directory);
+                if (persisted < last) {
+                    report.fail(check, "persisted value went backwards from " + last + " to " + persisted);
+                }
+                last = Math.max(last, persisted);
+            }
+        });
+
+        StressReport.joinAll(workers);
+        done.set(true);
+        switcher.join();
+        saver.join();
+        watcher.join();
+        service.close();
+
+        Set<String> seen = new HashSet<>();
+        long highest = 0L;
+        int total = 0;
+        int incremental = 0;
+        for (List<String> serials : issued) {
+            for (String serial : serials) {
+                total++;
+                if (!seen.add(serial)) {
+                    report.fail(check, "serial " + serial + " handed out twice");
+                }
+                if (serial.length() != random.length()) {
+                    incremental++;
+                    highest = Math.max(highest, Long.parseLong(serial));
+                }
+            }
+        }
+        long persisted = backend.persisted(directory);
+        if (persisted < highest) {
+            report.fail(check, "persisted " + persisted + " after close but serial " + highest + " was handed out");
+        }
+        report.pass(check, total + " serials (" + incremental + " incremental), " + switches.sum()
+                + " mode switches");
+    }
+
+    private void verify(String check, Phase expected, Optional<String> serial, int randomLength) {
+        switch (expected) {
+            case DISABLED -> serial.ifPresent(value ->
+                    report.fail(check, "serial " + value + " handed out while disabled"));
+            case RANDOM -> {
+                if (serial.isEmpty() || serial.get().length() != randomLength) {
+                    report.fail(check, "expected a random serial after the switch, got " + serial.orElse("none"));
+                }
+            }
+            case INCREMENTAL -> {
+                if (serial.isEmpty()) {
+                    // The saver reopens the counter without bumping the epoch, so this also covers load().
+                    report.fail(check, "no incremental serial handed out while the counter was reopened");
+                } else if (serial.get().length() == randomLength || !isNumeric(serial.get())) {
+                    report.fail(check, "expected an incremental serial after the switch, got " + serial.get());
+                }
+            }
+        }
+    }
+
+    private static boolean isNumeric(String serial) {
+        for (int i = 0; i < serial.length(); i++) {
+            char c = serial.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return !serial.isEmpty();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.serial;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Collects failures per check from any thread and prints one line per check.
+final class StressReport {
+
+    interface Body {
+
+        void run() throws Exception;
+    }
+
+    private static final int MAX_PRINTED_FAILURES = 20;
+
+    private final PrintStream out;
+    private final Map<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+
+    StressReport(PrintStream out) {
+        this.out = out;
+    }
+
+    void fail(String check, String message) {
+        int count = failures.computeIfAbsent(check, key -> new AtomicInteger()).incrementAndGet();
+        if (count <= MAX_PRINTED_FAILURES) {
+            out.println("FAIL " + check + ": " + message);
+        }
+    }
+
+    void pass(String check, String summary) {
+        AtomicInteger failed = failures.get(check);
+        if (failed == null) {
+            out.println("ok   " + check + ": " + summary);
+        } else {
+            out.println("FAIL " + check + ": " + failed.get() + " failures; " + summary);
+        }
+    }
+
+    boolean failed() {
+        return !failures.isEmpty();
+    }
+
+    static Thread start(String name, StressReport report, String check, Body body) {
+        Thread thread = new Thread(() -> {
+            try {
+                body.run();
+            } catch (Exception | Error ex) {
+                report.fail(check, Thread.currentThread().getName() + " threw " + ex);
+            }
+        }, name);
+        thread.start();
+        return thread;
+    }
+
+    static void joinAll(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
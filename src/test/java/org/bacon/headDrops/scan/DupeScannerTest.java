@@ -0,0 +1,109 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.scan;
+
+import static org.bacon.headDrops.scan.WorldFixture.chest;
+import static org.bacon.headDrops.scan.WorldFixture.compound;
+import static org.bacon.headDrops.scan.WorldFixture.compounds;
+import static org.bacon.headDrops.scan.WorldFixture.headData;
+import static org.bacon.headDrops.scan.WorldFixture.headItem;
+import static org.bacon.headDrops.scan.WorldFixture.legacySerial;
+import static org.bacon.headDrops.scan.WorldFixture.placedHead;
+import static org.bacon.headDrops.scan.WorldFixture.zlibChunk;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bacon.headDrops.scan.DupeReport.Duplicate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DupeScannerTest {
+
+    @TempDir
+    Path world;
+
+    @Test
+    void reportsSerialsFoundInSeveralPlaces() throws Exception {
+        WorldFixture fixture = new WorldFixture(world);
+        fixture.region("region", 0, 0, Map.of(
+                0, zlibChunk(compound("block_entities", compounds(
+                        placedHead(1, 64, 1, headData("DUPE")),
+                        chest(headItem(headData("ONLY")), headItem(legacySerial("OLD"))))))));
+        fixture.region("region", -1, 0, Map.of(
+                31, zlibChunk(compound("block_entities", compounds(chest(headItem(headData("DUPE"))))))));
+        fixture.region("entities", 0, 0, Map.of(
+                33, zlibChunk(compound("Entities", compounds(compound("Item", headItem(legacySerial("OLD"))))))));
+        fixture.playerData(UUID.randomUUID(), compound("Inventory", compounds(headItem(headData("DUPE")))));
+
+        DupeReport report = new DupeScanner(2, null).scan(world);
+
+        assertEquals(4, report.filesScanned());
+        assertEquals(3, report.chunksScanned());
+        assertEquals(0, report.failures());
+        assertEquals(3, report.serialsSeen());
+
+        List<Duplicate> duplicates = report.duplicates();
+        assertEquals(List.of("DUPE", "OLD"), duplicates.stream().map(Duplicate::serial).toList());
+        assertEquals(3, duplicates.get(0).count());
+        assertEquals(2, duplicates.get(1).count());
+
+        List<String> locations = duplicates.get(0).locations();
+        assertTrue(locations.contains(file("region", "r.0.0.mca") + " chunk 0,0 block_entities[0]"), locations::toString);
+        assertTrue(locations.contains(file("region", "r.-1.0.mca")
+                + " chunk -1,0 block_entities[0].Items[0].components.minecraft:custom_data"), locations::toString);
+        assertTrue(locations.stream().anyMatch(location -> location.startsWith(file("playerdata", ""))
+                && location.endsWith(".dat Inventory[0].components.minecraft:custom_data")), locations::toString);
+        List<String> legacy = duplicates.get(1).locations();
+        assertTrue(legacy.contains(file("entities", "r.0.0.mca")
+                + " chunk 1,1 Entities[0].Item.components.minecraft:custom_data"), legacy::toString);
+
+        StringWriter text = new StringWriter();
+        report.writeTo(text);
+        assertTrue(text.toString().contains("Serial DUPE found 3 times:"), text::toString);
+    }
+
+    @Test
+    void prefersHeadDataOverLegacySerialOnTheSameItem() throws Exception {
+        WorldFixture.Compound both = compound(
+                "headdrops:head_serial", new WorldFixture.StringTag("LEGACY"),
+                "headdrops:head_data", headData("CURRENT").entries().getFirst().tag());
+        new WorldFixture(world).region("region", 0, 0, Map.of(
+                0, zlibChunk(compound("block_entities", compounds(placedHead(0, 0, 0, both), placedHead(0, 1, 0, both))))));
+
+        DupeReport report = new DupeScanner(1, null).scan(world);
+
+        assertEquals(1, report.serialsSeen());
+        assertEquals("CURRENT", report.duplicates().getFirst().serial());
+    }
+
+    @Test
+    void keepsScanningPastACorruptChunk() throws Exception {
+        new WorldFixture(world).region("region", 0, 0, Map.of(
+                0, WorldFixture.corruptChunk(),
+                1, zlibChunk(compound("block_entities", compounds(placedHead(16, 64, 0, headData("A")))))));
+
+        DupeReport report = new DupeScanner(1, null).scan(world);
+
+        assertEquals(1, report.failures());
+        assertEquals(1, report.chunksScanned());
+        assertEquals(1, report.serialsSeen());
+        assertTrue(report.problems().getFirst().startsWith(file("region", "r.0.0.mca") + " chunk 0,0: "),
+                report.problems()::toString);
+        assertTrue(report.duplicates().isEmpty());
+    }
+
+    private static String file(String folder, String name) {
+        return Path.of(folder, name).toString();
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.scan;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.bacon.headDrops.utils.HeadDataCodec;
+import org.bacon.headDrops.utils.HeadUtils.HeadMetadata;
+
+/*
+ * Writes small world folders in the on-disk formats the scanner reads: region files with a sector
+ * table and zlib chunks, and gzipped player data. NBT is built from nested Tag values.
+ */
+final class WorldFixture {
+
+    private static final int SECTOR_BYTES = 4096;
+
+    sealed interface Tag permits Compound, ListTag, StringTag, ByteArrayTag, IntTag {
+    }
+
+    record Compound(List<Named> entries) implements Tag {
+    }
+
+    record Named(String name, Tag tag) {
+    }
+
+    record ListTag(int elementType, List<Tag> elements) implements Tag {
+    }
+
+    record StringTag(String value) implements Tag {
+    }
+
+    record ByteArrayTag(byte[] value) implements Tag {
+    }
+
+    record IntTag(int value) implements Tag {
+    }
+
+    private final Path world;
+
+    WorldFixture(Path world) {
+        this.world = world;
+    }
+
+    static Compound compound(Object... namesAndTags) {
+        List<Named> entries = new ArrayList<>();
+        for (int i = 0; i < namesAndTags.length; i += 2) {
+            entries.add(new Named((String) namesAndTags[i], (Tag) namesAndTags[i + 1]));
+        }
+        return new Compound(entries);
+    }
+
+    static ListTag compounds(Compound... elements) {
+        return new ListTag(10, List.of(elements));
+    }
+
+    // A PublicBukkitValues compound holding the current binary head data.
+    static Compound headData(String serial) {
+        HeadMetadata metadata = new HeadMetadata(UUID.randomUUID(), "Owner", Instant.EPOCH, "Killer", serial);
+        return compound("headdrops:head_data", new ByteArrayTag(HeadDataCodec.encode(metadata)));
+    }
+
+    // A PublicBukkitValues compound holding the string serial written before head_data existed.
+    static Compound legacySerial(String serial) {
+        return compound("headdrops:head_serial", new StringTag(serial));
+    }
+
+    static Compound headItem(Compound bukkitValues) {
+        return compound(
+                "id", new StringTag("minecraft:player_head"),
+                "count", new IntTag(1),
+                "components", compound("minecraft:custom_data", compound("PublicBukkitValues", bukkitValues)));
+    }
+
+    static Compound placedHead(int x, int y, int z, Compound bukkitValues) {
+        return compound(
+                "id", new StringTag("minecraft:player_head"),
+                "x", new IntTag(x), "y", new IntTag(y), "z", new IntTag(z),
+                "PublicBukkitValues", bukkitValues);
+    }
+
+    static Compound chest(Compound... items) {
+        return compound("id", new StringTag("minecraft:chest"), "Items", compounds(items));
+    }
+
+    // Writes world/<folder>/r.<regionX>.<regionZ>.mca; chunks are keyed by their index inside the region.
+    void region(String folder, int regionX, int regionZ, Map<Integer, byte[]> chunks) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        ByteBuffer header = ByteBuffer.allocate(SECTOR_BYTES * 2);
+        int sector = 2;
+        for (Map.Entry<Integer, byte[]> chunk : chunks.entrySet()) {
+            byte[] payload = chunk.getValue();
+            int sectors = (payload.length + SECTOR_BYTES - 1) / SECTOR_BYTES;
+            header.putInt(chunk.getKey() * 4, sector << 8 | sectors);
+            body.write(payload);
+            body.write(new byte[sectors * SECTOR_BYTES - payload.length]);
+            sector += sectors;
+        }
+        Path file = world.resolve(folder).resolve("r." + regionX + "." + regionZ + ".mca");
+        Files.createDirectories(file.getParent());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(header.array());
+            body.writeTo(out);
+        }
+    }
+
+    void playerData(UUID player, Compound root) throws IOException {
+        Path file = world.resolve("playerdata").resolve(player + ".dat");
+        Files.createDirectories(file.getParent());
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(Files.newOutputStream(file)))) {
+            writeRoot(out, root);
+        }
+    }
+
+    // A region chunk entry: length, zlib compression, then the compressed root compound.
+    static byte[] zlibChunk(Compound root) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(compressed))) {
+            writeRoot(out, root);
+        }
+        ByteBuffer chunk = ByteBuffer.allocate(5 + compressed.size());
+        chunk.putInt(compressed.size() + 1).put((byte) 2).put(compressed.toByteArray());
+        return chunk.array();
+    }
+
+    static byte[] corruptChunk() {
+        return ByteBuffer.allocate(16).putInt(12).put((byte) 2).put(new byte[11]).array();
+    }
+
+    private static void writeRoot(DataOutputStream out, Compound root) throws IOException {
+        out.writeByte(10);
+        out.writeUTF("");
+        writePayload(out, root);
+    }
+
+    private static void writePayload(DataOutputStream out, Tag tag) throws IOException {
+        switch (tag) {
+            case Compound compound -> {
+                for (Named entry : compound.entries()) {
+                    out.writeByte(type(entry.tag()));
+                    out.writeUTF(entry.name());
+                    writePayload(out, entry.tag());
+                }
+                out.writeByte(0);
+            }
+            case ListTag list -> {
+                out.writeByte(list.elementType());
+                out.writeInt(list.elements().size());
+                for (Tag element : list.elements()) {
+                    writePayload(out, element);
+                }
+            }
+            case StringTag string -> {
+                byte[] utf8 = string.value().getBytes(StandardCharsets.UTF_8);
+                out.writeShort(utf8.length);
+                out.write(utf8);
+            }
+            case ByteArrayTag bytes -> {
+                out.writeInt(bytes.value().length);
+                out.write(bytes.value());
+            }
+            case IntTag value -> out.writeInt(value.value());
+        }
+    }
+
+    private static int type(Tag tag) {
+        return switch (tag) {
+            case Compound ignored -> 10;
+            case ListTag ignored -> 9;
+            case StringTag ignored -> 8;
+            case ByteArrayTag ignored -> 7;
+            case IntTag ignored -> 3;
+        };
+    }
+}
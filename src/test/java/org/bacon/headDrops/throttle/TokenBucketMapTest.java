@@ -0,0 +1,85 @@
+/*
+ * HeadDrops Plugin
+ * Created by @BaconCat1
+ * Copyright (C) 2025 BaconCat1
+ * Licensed under the GNU General Public License v3.0
+ */
+
+package org.bacon.headDrops.throttle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketMapTest {
+
+    // One token a second, three at once.
+    private static final RateLimit LIMIT = new RateLimit(true, 3600L, 3);
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsTheBurstThenRefillsOneTokenPerInterval() {
+        long now = 42 * SECOND;
+        TokenBucketMap buckets = new TokenBucketMap(now);
+
+        assertTrue(buckets.tryAcquire(1L, LIMIT, now));
+        assertTrue(buckets.tryAcquire(1L, LIMIT, now));
+        assertTrue(buckets.tryAcquire(1L, LIMIT, now));
+        assertFalse(buckets.tryAcquire(1L, LIMIT, now));
+        assertTrue(buckets.tryAcquire(2L, LIMIT, now), () -> "keys share no tokens");
+
+        assertFalse(buckets.tryAcquire(1L, LIMIT, now + SECOND - 1));
+        assertTrue(buckets.tryAcquire(1L, LIMIT, now + SECOND));
+        assertFalse(buckets.tryAcquire(1L, LIMIT, now + SECOND));
+
+        long idle = now + 10 * SECOND;
+        assertTrue(buckets.tryAcquire(1L, LIMIT, idle));
+        assertTrue(buckets.tryAcquire(1L, LIMIT, idle));
+        assertTrue(buckets.tryAcquire(1L, LIMIT, idle));
+        assertFalse(buckets.tryAcquire(1L, LIMIT, idle), () -> "an idle bucket refills only up to the burst");
+    }
+
+    @Test
+    void releaseGivesTheTokenBack() {
+        long now = 7 * SECOND;
+        TokenBucketMap buckets = new TokenBucketMap(now);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(buckets.tryAcquire(1L, LIMIT, now));
+        }
+        assertFalse(buckets.tryAcquire(1L, LIMIT, now));
+
+        buckets.release(1L, LIMIT);
+
+        assertTrue(buckets.tryAcquire(1L, LIMIT, now));
+        assertFalse(buckets.tryAcquire(1L, LIMIT, now));
+    }
+
+    @Test
+    void handlesNegativeClockValues() {
+        // System.nanoTime may be negative and may cross zero while the server runs.
+        long start = -2 * SECOND - 300;
+        TokenBucketMap buckets = new TokenBucketMap(start);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(buckets.tryAcquire(1L, LIMIT, start));
+        }
+        assertFalse(buckets.tryAcquire(1L, LIMIT, start));
+        assertTrue(buckets.tryAcquire(1L, LIMIT, start + SECOND));
+
+        buckets.expire(start + SECOND);
+        assertEquals(1, buckets.size(), () -> "a bucket still ahead of the clock is kept");
+
+        buckets.expire(start + 6 * SECOND);
+        assertEquals(0, buckets.size(), () -> "a bucket whose arrival time passed zero is dropped");
+
+        long far = Long.MIN_VALUE / 2;
+        TokenBucketMap early = new TokenBucketMap(far);
+        assertTrue(early.tryAcquire(9L, LIMIT, far));
+        early.expire(far + 5 * SECOND);
+        assertEquals(0, early.size());
+    }
+}